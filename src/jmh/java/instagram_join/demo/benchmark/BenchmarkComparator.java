@@ -0,0 +1,84 @@
+package instagram_join.demo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// JMH 결과(JSON)를 저장된 기준 결과와 비교
+// - 사용법: BenchmarkComparator <baseline.json> <result.json> [threshold]
+// - 기준보다 threshold(기본 0.15 = 15%) 이상 느려진 벤치마크를 REGRESSION 으로 표시
+// - -Djmh.failOnRegression=true 이면 회귀가 있을 때 종료 코드 1
+// - -Djmh.updateBaseline=true 이면 비교 후 현재 결과를 새 기준으로 저장
+public class BenchmarkComparator {
+
+    public static void main(String[] args) throws IOException {
+        Path baselinePath = Path.of(args[0]);
+        Path resultPath = Path.of(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.15;
+
+        Map<String, JsonNode> current = load(resultPath);
+        if (!Files.exists(baselinePath)) {
+            System.out.println("No baseline at " + baselinePath + " - saving current results as baseline");
+            save(resultPath, baselinePath);
+            return;
+        }
+        Map<String, JsonNode> baseline = load(baselinePath);
+
+        int regressions = 0;
+        System.out.printf("%-75s %14s %14s %9s%n", "Benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            double score = now.path("primaryMetric").path("score").asDouble();
+            String unit = now.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-75s %14s %10.3f %-3s %9s%n", entry.getKey(), "-", score, unit, "new");
+                continue;
+            }
+
+            double baselineScore = before.path("primaryMetric").path("score").asDouble();
+            double change = (score - baselineScore) / baselineScore;
+            // 처리량(thrpt)은 클수록, 시간(avgt, sample, ss)은 작을수록 좋음
+            double slowdown = "thrpt".equals(now.path("mode").asText()) ? -change : change;
+            boolean regression = slowdown > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-75s %10.3f %-3s %10.3f %-3s %+8.1f%%%s%n", entry.getKey(), baselineScore, unit,
+                    score, unit, change * 100, regression ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) over %.0f%% threshold%n", regressions, threshold * 100);
+
+        if (Boolean.getBoolean("jmh.updateBaseline")) {
+            save(resultPath, baselinePath);
+            System.out.println("Baseline updated: " + baselinePath);
+        }
+        if (regressions > 0 && Boolean.getBoolean("jmh.failOnRegression")) {
+            System.exit(1);
+        }
+    }
+
+    // 벤치마크 이름 + 파라미터 -> 결과
+    private static Map<String, JsonNode> load(Path path) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(path.toFile())) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText()
+                    .replace("instagram_join.demo.", ""));
+            node.path("params").fields().forEachRemaining(param ->
+                    key.append(" ").append(param.getKey()).append("=").append(param.getValue().asText()));
+            results.put(key.toString(), node);
+        }
+        return results;
+    }
+
+    private static void save(Path result, Path baseline) throws IOException {
+        Files.createDirectories(baseline.toAbsolutePath().getParent());
+        Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
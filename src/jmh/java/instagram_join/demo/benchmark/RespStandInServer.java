@@ -0,0 +1,113 @@
+package instagram_join.demo.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+// 벤치마크용 로컬 Redis 대체 서버 (RESP2)
+// - 명령을 실행하지 않고 고정된 응답만 반환 -> 클라이언트 측 비용(직렬화, Lettuce 인코딩, loopback 왕복)만 측정
+// - HELLO 는 거부하여 Lettuce 가 RESP2 로 접속하도록 함
+public class RespStandInServer implements AutoCloseable {
+
+    private static final byte[] OK = "+OK\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PONG = "+PONG\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ONE = ":1\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UNKNOWN = "-ERR unknown command\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ServerSocket serverSocket;
+
+    public RespStandInServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "resp-stand-in");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread handler = new Thread(() -> handle(socket), "resp-stand-in-conn");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            while (true) {
+                String command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                out.write(reply(command));
+                // 파이프라인으로 들어온 명령은 모아서 응답
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException ignored) {
+            // 클라이언트 연결 종료
+        }
+    }
+
+    private static byte[] reply(String command) {
+        return switch (command) {
+            case "HELLO" -> UNKNOWN;
+            case "PING" -> PONG;
+            case "CLIENT", "SELECT", "SET" -> OK;
+            default -> ONE;
+        };
+    }
+
+    // 명령 배열(*N 다음 N 개의 $len 문자열)을 읽고 명령 이름만 반환
+    private static String readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        String command = null;
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] data = in.readNBytes(length + 2);
+            if (i == 0) {
+                command = new String(data, 0, length, StandardCharsets.US_ASCII).toUpperCase();
+            }
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return null;
+    }
+}
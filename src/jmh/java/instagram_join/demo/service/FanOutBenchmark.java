@@ -0,0 +1,61 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.benchmark.RespStandInServer;
+import instagram_join.demo.config.RedisConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Fan-out 본문 (NewsFeedService.addToFeeds: 피드마다 ZADD + EXPIRE + INCR, 배치당 스크립트 1회) 을 팔로워 수만큼 실행
+// - Redis 대신 RespStandInServer 에 접속 -> 서버 처리 시간을 제외한 클라이언트 측 비용과 왕복 횟수의 영향만 측정
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FanOutBenchmark {
+
+    @Param({"10", "100"})
+    private int followerCount;
+
+    private RespStandInServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private NewsFeedService newsFeedService;
+    private List<Long> followerIds;
+    private long postId;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = new RespStandInServer();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", server.getPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        // 애플리케이션과 같은 직렬화 / 트랜잭션 설정의 RedisTemplate
+        RedisTemplate<String, Object> redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+
+        followerIds = LongStream.rangeClosed(1, followerCount).boxed().toList();
+
+        newsFeedService = new NewsFeedService();
+        ReflectionTestUtils.setField(newsFeedService, "redisTemplate", redisTemplate);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connectionFactory.destroy();
+        server.close();
+    }
+
+    @Benchmark
+    public void fanOutLoop() {
+        newsFeedService.addToFeeds(followerIds, ++postId, System.currentTimeMillis());
+    }
+}
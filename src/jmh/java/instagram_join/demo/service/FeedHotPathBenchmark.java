@@ -0,0 +1,95 @@
+package instagram_join.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import instagram_join.demo.config.CacheConfig;
+import instagram_join.demo.config.RedisConfig;
+import instagram_join.demo.dto.NewsFeedResponse;
+import instagram_join.demo.dto.PostDTO;
+import instagram_join.demo.entity.Post;
+import instagram_join.demo.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 뉴스피드 조회 경로의 CPU 비용
+// - convertToDTO (Post -> PostDTO)
+// - NewsFeedResponse JSON 직렬화 (MVC 응답용 objectMapper, 캐시용 cacheObjectMapper)
+// - 뉴스피드 ZSET 멤버 디코딩 (GenericJackson2JsonRedisSerializer + Long.parseLong)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FeedHotPathBenchmark {
+
+    // 한 페이지의 게시물 수 (newsFeed.page.default-size, newsFeed.max-size)
+    @Param({"20", "500"})
+    private int pageSize;
+
+    private NewsFeedService newsFeedService;
+    private List<Post> posts;
+    private NewsFeedResponse response;
+    private ObjectMapper objectMapper;
+    private ObjectMapper cacheObjectMapper;
+    private GenericJackson2JsonRedisSerializer memberSerializer;
+    private List<byte[]> encodedMembers;
+
+    @Setup
+    public void setUp() {
+        newsFeedService = new NewsFeedService();
+        objectMapper = new RedisConfig().objectMapper();
+        cacheObjectMapper = new CacheConfig().objectMapper();
+        memberSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+
+        posts = new ArrayList<>();
+        encodedMembers = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = 0; i < pageSize; i++) {
+            User user = new User();
+            user.setId(i % 50);
+            user.setUserName("user" + (i % 50));
+            user.setEmail("user" + (i % 50) + "@example.com");
+
+            Post post = new Post();
+            post.setId(1_000_000 + i);
+            post.setUser(user);
+            post.setCaption("caption for post " + i);
+            post.setCreatedAt(now.minusMinutes(i));
+            post.setUpdatedAt(now.minusMinutes(i));
+            posts.add(post);
+
+            encodedMembers.add(memberSerializer.serialize(post.getId().toString()));
+        }
+
+        List<PostDTO> postDTOs = posts.stream().map(newsFeedService::convertToDTO).toList();
+        response = new NewsFeedResponse(postDTOs, 0, pageSize, 500);
+    }
+
+    @Benchmark
+    public List<PostDTO> convertToDTO() {
+        return posts.stream().map(newsFeedService::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeWithObjectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeWithCacheObjectMapper() throws Exception {
+        return cacheObjectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public void decodeFeedMembers(Blackhole blackhole) {
+        for (byte[] member : encodedMembers) {
+            blackhole.consume(Long.parseLong((String) memberSerializer.deserialize(member)));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package instagram_join.demo.loadtest;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 테이블의 ID 범위 [first, last] (AUTO_INCREMENT 로 연속 생성된 행)
+public record IdRange(long first, long last) {
+
+    public static IdRange of(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MIN(id), MAX(id) FROM " + table)) {
+            rs.next();
+            return new IdRange(rs.getLong(1), rs.getLong(2));
+        }
+    }
+
+    public int size() {
+        return (int) (last - first + 1);
+    }
+
+    public boolean isEmpty() {
+        return last < first || first == 0;
+    }
+
+    public long random() {
+        return ThreadLocalRandom.current().nextLong(first, last + 1);
+    }
+}
@@ -0,0 +1,173 @@
+package instagram_join.demo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+// REST 컨트롤러에 post / follow / like / feed 조회 트래픽을 설정된 비율로 전송
+// - 요청을 보내는 사용자는 활동량(Zipf) 에 따라 선택 -> 소수의 활동적인 사용자에게 요청이 집중
+// - target-rps 가 있으면 각 워커가 정해진 간격으로 요청하고, 지연 시간은 예정 시각부터 측정 (coordinated omission 보정)
+public class LoadGenerator {
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final IdRange users;
+    private final IdRange posts;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // 활동량 순위 -> 사용자 ID (팔로우 인기 순위와 상관없도록 섞음)
+    private final long[] usersByActivity;
+    private final ZipfSampler activity;
+
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private final String[] weightedOperations;
+
+    public LoadGenerator(LoadTestConfig config, String baseUrl, IdRange users, IdRange posts) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.posts = posts;
+
+        usersByActivity = new long[users.size()];
+        for (int i = 0; i < usersByActivity.length; i++) {
+            usersByActivity[i] = users.first() + i;
+        }
+        for (int i = usersByActivity.length - 1; i > 0; i--) {
+            int j = ThreadLocalRandom.current().nextInt(i + 1);
+            long tmp = usersByActivity[i];
+            usersByActivity[i] = usersByActivity[j];
+            usersByActivity[j] = tmp;
+        }
+        activity = new ZipfSampler(usersByActivity.length, config.activityExponent());
+
+        registerOperations();
+
+        List<String> weighted = new ArrayList<>();
+        config.mix().forEach((name, weight) -> {
+            if (!operations.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + name);
+            }
+            for (int i = 0; i < weight; i++) {
+                weighted.add(name);
+            }
+        });
+        weightedOperations = weighted.toArray(String[]::new);
+    }
+
+    // 요청 종류 -> 요청 생성 (409 는 중복 팔로우 / 좋아요로 정상 응답으로 취급)
+    private void registerOperations() {
+        operations.put("feed", new Operation(userId -> get("/newsFeed/" + userId + "?page=0&size=20")));
+        operations.put("feedReactive", new Operation(userId -> get("/newsFeed/" + userId + "/reactive?page=0&size=20")));
+        // 피드 score 는 게시물 작성 시각(초) -> 최근 1분 동안 추가된 항목 수 조회
+        operations.put("newPosts", new Operation(userId ->
+                get("/newsFeed/" + userId + "/new?sinceScore=" + (Instant.now().getEpochSecond() - 60))));
+        operations.put("profile", new Operation(userId -> get("/users/" + userId + "/posts?page=0&size=20")));
+        operations.put("post", new Operation(userId ->
+                post("/posts", "{\"caption\":\"load test post\",\"user\":{\"id\":" + userId + "}}")));
+        operations.put("follow", new Operation(userId ->
+                post("/followers", "{\"followerId\":" + userId + ",\"followingId\":" + users.random() + "}")));
+        operations.put("like", new Operation(userId ->
+                post("/likes", "{\"userId\":" + userId + ",\"postId\":" + posts.random() + "}")));
+    }
+
+    public LoadReport run() throws InterruptedException {
+        int concurrency = config.concurrency();
+        long warmupNanos = config.warmup().toNanos();
+        long durationNanos = config.duration().toNanos();
+        // 워커당 요청 간격 (target-rps 가 0 이면 간격 없음)
+        long intervalNanos = config.targetRps() > 0 ? TimeUnit.SECONDS.toNanos(concurrency) / config.targetRps() : 0;
+
+        LoadReport warmupReport = new LoadReport(operations.keySet());
+        LoadReport report = new LoadReport(operations.keySet());
+
+        long start = System.nanoTime();
+        long measureStart = start + warmupNanos;
+        long end = measureStart + durationNanos;
+
+        System.out.printf("Running %d workers for %s (+%s warmup) against %s, mix %s%n",
+                concurrency, config.duration(), config.warmup(), baseUrl, config.mix());
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            // 워커들의 시작 시각을 간격 안에서 분산
+            long offset = intervalNanos == 0 ? 0 : intervalNanos * w / concurrency;
+            workers.execute(() -> {
+                long intended = start + offset;
+                while (true) {
+                    long now = System.nanoTime();
+                    if (now >= end) {
+                        return;
+                    }
+                    if (intervalNanos > 0) {
+                        if (intended > now) {
+                            LockSupport.parkNanos(intended - now);
+                        }
+                    } else {
+                        intended = now;
+                    }
+
+                    String name = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+                    boolean success = send(operations.get(name));
+                    long latency = System.nanoTime() - intended;
+
+                    (intended >= measureStart ? report : warmupReport).record(name, latency, success);
+                    intended += intervalNanos;
+                }
+            });
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(warmupNanos + durationNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        report.finish(Duration.ofNanos(durationNanos));
+        return report;
+    }
+
+    private boolean send(Operation operation) {
+        long userId = usersByActivity[activity.sample()];
+        try {
+            HttpResponse<Void> response = client.send(operation.request(userId), HttpResponse.BodyHandlers.discarding());
+            int status = response.statusCode();
+            return status < 400 || status == 409;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private record Operation(LongFunction<HttpRequest> builder) {
+        HttpRequest request(long userId) {
+            return builder.apply(userId);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package instagram_join.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 요청 종류별 처리량과 지연 시간 분포 (p50 / p99 / p999)
+public class LoadReport {
+
+    // 1us ~ 60s, 유효 숫자 3자리
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new LinkedHashMap<>();
+    private Duration elapsed;
+
+    public LoadReport(Collection<String> operations) {
+        for (String operation : operations) {
+            latencies.put(operation, new ConcurrentHistogram(1, MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public void record(String operation, long latencyNanos, boolean success) {
+        latencies.get(operation).recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, latencyNanos / 1_000)));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    public void finish(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    public void print() {
+        System.out.printf("%n%-14s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        summary().forEach((operation, stats) -> System.out.printf("%-14s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                operation, (long) stats.get("requests"), (long) stats.get("errors"), stats.get("throughput"),
+                stats.get("p50Ms"), stats.get("p99Ms"), stats.get("p999Ms"), stats.get("maxMs")));
+    }
+
+    public void write(Path path) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", elapsed.toSeconds());
+        report.put("operations", summary());
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+
+    private Map<String, Map<String, Object>> summary() {
+        double seconds = elapsed.toNanos() / 1e9;
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        latencies.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", histogram.getTotalCount());
+            stats.put("errors", errors.get(operation).sum());
+            stats.put("throughput", histogram.getTotalCount() / seconds);
+            stats.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+            stats.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+            stats.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+            stats.put("maxMs", histogram.getMaxValue() / 1000.0);
+            summary.put(operation, stats);
+        });
+        return summary;
+    }
+}
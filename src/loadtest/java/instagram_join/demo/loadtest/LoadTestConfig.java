@@ -0,0 +1,75 @@
+package instagram_join.demo.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// 부하 테스트 설정 (loadtest.properties, -Dloadtest.* 시스템 속성으로 덮어쓰기)
+public class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    public static LoadTestConfig load() throws IOException {
+        LoadTestConfig config = new LoadTestConfig();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                config.properties.load(in);
+            }
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest."))
+                .forEach(name -> config.properties.setProperty(name, System.getProperty(name)));
+        return config;
+    }
+
+    private String get(String name) {
+        String value = properties.getProperty("loadtest." + name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing load test property: loadtest." + name);
+        }
+        return value.trim();
+    }
+
+    // 애플리케이션을 이 프로세스에서 시작할지 (false 면 baseUrl 의 실행 중인 서버 사용)
+    public boolean startApplication() { return Boolean.parseBoolean(get("start-application")); }
+    public String baseUrl() { return get("base-url"); }
+
+    // MySQL / Redis 대체 인스턴스 (src/loadtest/docker-compose.yml)
+    public String jdbcUrl() { return get("jdbc-url"); }
+    public String jdbcUsername() { return get("jdbc-username"); }
+    public String jdbcPassword() { return get("jdbc-password"); }
+    public String redisHost() { return get("redis-host"); }
+    public int redisPort() { return Integer.parseInt(get("redis-port")); }
+
+    // 합성 그래프
+    public boolean generateGraph() { return Boolean.parseBoolean(get("graph.generate")); }
+    public boolean resetGraph() { return Boolean.parseBoolean(get("graph.reset")); }
+    public int users() { return Integer.parseInt(get("graph.users")); }
+    public double followExponent() { return Double.parseDouble(get("graph.follow-exponent")); }
+    public int minFollowing() { return Integer.parseInt(get("graph.min-following")); }
+    public double followingShape() { return Double.parseDouble(get("graph.following-shape")); }
+    public double postsShape() { return Double.parseDouble(get("graph.posts-shape")); }
+    public int maxPostsPerUser() { return Integer.parseInt(get("graph.max-posts-per-user")); }
+
+    // 트래픽
+    public int concurrency() { return Integer.parseInt(get("concurrency")); }
+    public Duration warmup() { return Duration.parse("PT" + get("warmup").toUpperCase()); }
+    public Duration duration() { return Duration.parse("PT" + get("duration").toUpperCase()); }
+    // 초당 목표 요청 수 (0 이면 제한 없이 closed loop)
+    public int targetRps() { return Integer.parseInt(get("target-rps")); }
+    public double activityExponent() { return Double.parseDouble(get("activity-exponent")); }
+    public String reportFile() { return get("report-file"); }
+
+    // 요청 종류별 비율 (예: feed:70,post:10,...)
+    public Map<String, Integer> mix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : get("mix").split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
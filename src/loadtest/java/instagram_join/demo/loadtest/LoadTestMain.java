@@ -0,0 +1,74 @@
+package instagram_join.demo.loadtest;
+
+import instagram_join.demo.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+// 부하 테스트 실행
+// 1. (start-application) MySQL / Redis 대체 인스턴스에 연결하여 애플리케이션 시작 -> Flyway 가 스키마 생성
+// 2. (graph.generate) 합성 소셜 그래프 생성, 이전 실행의 Redis 데이터 삭제
+// 3. 설정된 비율의 트래픽 전송 후 요청 종류별 처리량 / 지연 시간 보고
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = config.baseUrl();
+        if (config.startApplication()) {
+            context = new SpringApplicationBuilder(DemoApplication.class).run(
+                    "--server.port=0",
+                    "--spring.datasource.url=" + config.jdbcUrl(),
+                    "--spring.datasource.username=" + config.jdbcUsername(),
+                    "--spring.datasource.password=" + config.jdbcPassword(),
+                    "--spring.data.redis.host=" + config.redisHost(),
+                    "--spring.data.redis.port=" + config.redisPort(),
+                    // 요청 / Fan-out 마다 남기는 INFO 로그가 측정에 섞이지 않도록
+                    "--logging.level.root=WARN",
+                    "--spring.jpa.show-sql=false",
+                    // 소수의 활동적인 사용자에게 요청이 몰리므로 요청 수 제한 / 과부하 차단 없이 처리 용량을 측정
+                    "--rate-limit.enabled=false",
+                    "--load-shedding.enabled=false");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            if (config.generateGraph()) {
+                new SyntheticGraphGenerator(config).generate();
+                if (context != null && config.resetGraph()) {
+                    // 이전 실행의 뉴스피드 / 타임라인 캐시가 새 ID 와 섞이지 않도록
+                    context.getBean(StringRedisTemplate.class).execute((RedisCallback<Object>) connection -> {
+                        connection.serverCommands().flushDb();
+                        return null;
+                    });
+                }
+            }
+
+            IdRange users;
+            IdRange posts;
+            try (Connection connection = DriverManager.getConnection(
+                    config.jdbcUrl(), config.jdbcUsername(), config.jdbcPassword())) {
+                users = IdRange.of(connection, "user");
+                posts = IdRange.of(connection, "post");
+            }
+            if (users.isEmpty() || posts.isEmpty()) {
+                throw new IllegalStateException("No users or posts to run against - enable loadtest.graph.generate");
+            }
+
+            LoadReport report = new LoadGenerator(config, baseUrl, users, posts).run();
+            report.print();
+            report.write(Path.of(config.reportFile()));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,166 @@
+package instagram_join.demo.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 멱법칙(power-law) 팔로우 그래프를 User / Follower / Post 테이블에 생성
+// - 팔로우 대상: 인기 순위를 Zipf 분포로 선택 -> 팔로워 수가 소수의 계정에 집중 (in-degree 멱법칙)
+// - 팔로우 수 / 게시물 수: 파레토 분포 (대부분 적고 일부가 매우 많음)
+// - user_stats 는 생성된 행으로부터 집계
+public class SyntheticGraphGenerator {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private final LoadTestConfig config;
+
+    public SyntheticGraphGenerator(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public void generate() throws SQLException {
+        // rewriteBatchedStatements -> 배치 INSERT 를 multi-row INSERT 로 전송
+        String url = config.jdbcUrl() + (config.jdbcUrl().contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        try (Connection connection = DriverManager.getConnection(url, config.jdbcUsername(), config.jdbcPassword())) {
+            connection.setAutoCommit(false);
+            if (config.resetGraph()) {
+                reset(connection);
+            }
+
+            long start = System.currentTimeMillis();
+            IdRange users = insertUsers(connection);
+            long follows = insertFollows(connection, users);
+            long posts = insertPosts(connection, users);
+            rebuildStats(connection);
+            connection.commit();
+
+            System.out.printf("Generated %d users, %d follows, %d posts in %.1fs%n",
+                    users.size(), follows, posts, (System.currentTimeMillis() - start) / 1000.0);
+        }
+    }
+
+    // 기존 데이터 삭제 -> 부하 테스트 전용 DB 에서만 허용
+    private void reset(Connection connection) throws SQLException {
+        if (!config.jdbcUrl().contains("loadtest")) {
+            throw new IllegalStateException("Refusing to reset a database that is not a load-test database: " + config.jdbcUrl());
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"likes", "post", "follower", "user_stats", "user"}) {
+                statement.executeUpdate("DELETE FROM " + table);
+            }
+        }
+        connection.commit();
+    }
+
+    private IdRange insertUsers(Connection connection) throws SQLException {
+        String prefix = "lt" + Long.toString(System.currentTimeMillis(), 36) + "_";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO user (username, email, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < config.users(); i++) {
+                insert.setString(1, prefix + i);
+                insert.setString(2, prefix + i + "@loadtest.local");
+                insert.setString(3, "loadtest");
+                insert.setTimestamp(4, now);
+                insert.setTimestamp(5, now);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT MIN(id), MAX(id) FROM user WHERE username LIKE '" + prefix + "%'")) {
+            rs.next();
+            return new IdRange(rs.getLong(1), rs.getLong(2));
+        }
+    }
+
+    private long insertFollows(Connection connection, IdRange users) throws SQLException {
+        ZipfSampler popularity = new ZipfSampler(users.size(), config.followExponent());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long count = 0;
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO follower (follower_id, following_id, created_at, updated_at) VALUES (?, ?, ?, ?)")) {
+            for (long follower = users.first(); follower <= users.last(); follower++) {
+                int following = (int) Math.min(users.size() - 1, pareto(config.minFollowing(), config.followingShape()));
+                Set<Long> targets = new HashSet<>();
+                while (targets.size() < following) {
+                    long target = users.first() + popularity.sample();
+                    if (target != follower) {
+                        targets.add(target);
+                    }
+                }
+
+                for (Long target : targets) {
+                    insert.setLong(1, follower);
+                    insert.setLong(2, target);
+                    insert.setTimestamp(3, now);
+                    insert.setTimestamp(4, now);
+                    insert.addBatch();
+                    if (++count % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+        return count;
+    }
+
+    private long insertPosts(Connection connection, IdRange users) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime now = LocalDateTime.now();
+        long count = 0;
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO post (user_id, caption, created_at, updated_at) VALUES (?, ?, ?, ?)")) {
+            for (long author = users.first(); author <= users.last(); author++) {
+                int posts = (int) Math.min(config.maxPostsPerUser(), pareto(1, config.postsShape()) - 1);
+                for (int i = 0; i < posts; i++) {
+                    // 최근 7일 안의 임의 시각
+                    Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(random.nextLong(7 * 24 * 3600)));
+                    insert.setLong(1, author);
+                    insert.setString(2, "synthetic post " + author + "-" + i);
+                    insert.setTimestamp(3, createdAt);
+                    insert.setTimestamp(4, createdAt);
+                    insert.addBatch();
+                    if (++count % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+        return count;
+    }
+
+    private void rebuildStats(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM user_stats");
+            statement.executeUpdate("INSERT INTO user_stats (user_id, follower_count, following_count, post_count) " +
+                    "SELECT u.id, " +
+                    "(SELECT COUNT(*) FROM follower f WHERE f.following_id = u.id), " +
+                    "(SELECT COUNT(*) FROM follower f WHERE f.follower_id = u.id), " +
+                    "(SELECT COUNT(*) FROM post p WHERE p.user_id = u.id) " +
+                    "FROM user u");
+        }
+    }
+
+    // 파레토 분포 표본 (최솟값 min, 모양 shape -> 작을수록 꼬리가 김)
+    private static double pareto(double min, double shape) {
+        return min / Math.pow(1 - ThreadLocalRandom.current().nextDouble(), 1 / shape);
+    }
+}
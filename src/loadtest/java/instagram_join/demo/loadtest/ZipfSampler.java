@@ -0,0 +1,29 @@
+package instagram_join.demo.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 순위 1..n 을 Zipf(멱법칙) 분포로 선택 -> P(rank = k) ∝ 1 / k^exponent
+// - 팔로우 대상(인기 계정), 요청을 보내는 사용자(활동량) 선택에 사용
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1.0 / Math.pow(k, exponent);
+            cumulative[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    // 0 부터 시작하는 순위 반환 (0 이 가장 자주 선택됨)
+    public int sample() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+}
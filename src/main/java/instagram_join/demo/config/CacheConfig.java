@@ -1,14 +1,23 @@
 package instagram_join.demo.config;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NullValue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -19,12 +28,37 @@ import java.time.Duration;
 @EnableCaching
 public class CacheConfig {
 
+    // 로컬(1차) 캐시의 최대 항목 수 -> 힙 사용량을 제한
+    @Value("${cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    // 로컬(1차) 캐시 항목의 만료 시간 -> 무효화 메시지가 유실되더라도 이 시간 이후에는 Redis 에서 다시 읽음
+    @Value("${cache.local.expire-after-write:60s}")
+    private Duration localExpireAfterWrite;
+
     @Bean
-    // Redis 를 캐시로 사용할 수 있도록 관리하는 클래스
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) { // Redis와의 연결을 관리하는 팩토리
-        return RedisCacheManager.builder(redisConnectionFactory)
+    // 로컬 캐시 + Redis 캐시를 함께 사용하는 2단계 CacheManager
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, // Redis와의 연결을 관리하는 팩토리
+                                             StringRedisTemplate stringRedisTemplate,
+                                             RedisMessageListenerContainer redisMessageListenerContainer,
+                                             RedisCircuitBreaker redisCircuitBreaker) {
+        // Redis 를 캐시로 사용할 수 있도록 관리하는 클래스 (2차 캐시)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(cacheConfiguration())
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        Caffeine<Object, Object> localCacheBuilder = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localExpireAfterWrite);
+
+        TwoLevelCacheManager cacheManager =
+                new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, localCacheBuilder, redisCircuitBreaker);
+
+        // 다른 노드에서 발행한 캐시 무효화 메시지 구독
+        redisMessageListenerContainer.addMessageListener(cacheManager,
+                new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return cacheManager;
     }
 
     // 캐시의 키와 값, 그리고 캐시 만료 시간을 지정
@@ -42,6 +76,23 @@ public class CacheConfig {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // 캐시에서 꺼낸 값을 원래 타입(User 등)으로 복원할 수 있도록 타입 정보(@class)를 함께 저장
+        // Redis 에 저장된 @class 로 임의의 클래스가 생성되지 않도록 이 애플리케이션과 JDK 타입만 허용
+        BasicPolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("instagram_join.demo.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.lang.")
+                .allowIfSubType(NullValue.class)
+                .build();
+        objectMapper.activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(objectMapper, null);
+        // NullValue 는 final 클래스라 NON_FINAL 타입 정보가 적용되지 않음 -> 직렬화할 때 기록된 @class 는 읽을 때 무시
+        objectMapper.addMixIn(NullValue.class, IgnoreTypeProperty.class);
         return objectMapper;
     }
+
+    @JsonIgnoreProperties("@class")
+    private abstract static class IgnoreTypeProperty {
+    }
 }
@@ -0,0 +1,242 @@
+package instagram_join.demo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+// Redis 세션 저장소 앞에 짧은 수명의 로컬 세션 스냅샷을 두는 SessionRepository
+// - 인증된 읽기 요청(세션 속성만 읽는 요청)은 로컬 스냅샷으로 처리하여 Redis 왕복과 JSON 파싱을 생략
+// - 세션 속성을 변경하는 요청은 그 시점에 Redis 세션을 로드하여 원래 저장소로 저장
+// - 로그아웃(세션 삭제)은 Redis Pub/Sub 으로 모든 노드에 전파하여 로컬 스냅샷을 즉시 제거
+@Slf4j
+public class NearCacheSessionRepository
+        implements SessionRepository<NearCacheSessionRepository.NearCachedSession>, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "session:invalidation";
+    // - 무효화 메시지 형식: {nodeId}:{sessionId}
+
+    private final SessionRepository<Session> delegate;
+    private final Cache<String, MapSession> nearCache;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // 마지막 접근 시간만 바뀐 경우 Redis 에 반영하는 최소 간격
+    // 세션 만료 시간(spring.session.timeout)보다 충분히 짧아야 한다
+    private final Duration touchInterval;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public NearCacheSessionRepository(SessionRepository<Session> delegate,
+                                      Cache<String, MapSession> nearCache,
+                                      StringRedisTemplate stringRedisTemplate,
+                                      Duration touchInterval) {
+        this.delegate = delegate;
+        this.nearCache = nearCache;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.touchInterval = touchInterval;
+    }
+
+    @Override
+    public NearCachedSession createSession() {
+        Session session = delegate.createSession();
+        return new NearCachedSession(new MapSession(session), session);
+    }
+
+    @Override
+    public void save(NearCachedSession session) {
+        if (!session.isLoaded()) {
+            // 읽기 전용 요청 -> 마지막 접근 시간만 변경됨
+            // touchInterval 이 지나지 않았다면 Redis 쓰기 생략
+            Instant persistedAccessTime = session.snapshot.getLastAccessedTime();
+            if (Duration.between(persistedAccessTime, session.getLastAccessedTime()).compareTo(touchInterval) < 0) {
+                return;
+            }
+            if (session.loadDelegate() == null) {
+                return;
+            }
+        }
+
+        delegate.save(session.delegate);
+
+        // 세션 ID 가 변경된 경우 이전 ID 의 스냅샷 제거
+        if (!session.originalId.equals(session.getId())) {
+            invalidate(session.originalId);
+        }
+
+        nearCache.put(session.getId(), new MapSession(session.delegate));
+
+        // 세션 속성이 변경되었다면 다른 노드의 오래된 스냅샷 제거
+        if (session.attributesChanged) {
+            publish(session.getId());
+        }
+    }
+
+    @Override
+    public NearCachedSession findById(String id) {
+        MapSession snapshot = nearCache.getIfPresent(id);
+        if (snapshot != null) {
+            if (snapshot.isExpired()) {
+                nearCache.invalidate(id);
+                return null;
+            }
+            // 요청마다 독립된 복사본을 사용하여 동시 요청 간 상태 공유를 방지
+            return new NearCachedSession(new MapSession(snapshot), null);
+        }
+
+        Session session = delegate.findById(id);
+        if (session == null) {
+            return null;
+        }
+        MapSession loaded = new MapSession(session);
+        nearCache.put(id, loaded);
+        return new NearCachedSession(new MapSession(loaded), session);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+        invalidate(id);
+    }
+
+    private void invalidate(String id) {
+        nearCache.invalidate(id);
+        publish(id);
+    }
+
+    private void publish(String id) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + id);
+        } catch (Exception e) {
+            // 발행 실패 시 다른 노드의 스냅샷은 near-cache TTL 이 지나면 제거됨
+            log.warn("Failed to publish session invalidation: {}", id, e);
+        }
+    }
+
+    // 다른 노드에서 발행한 세션 무효화 메시지 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 2);
+        if (parts.length == 2 && !nodeId.equals(parts[0])) {
+            nearCache.invalidate(parts[1]);
+        }
+    }
+
+    // 로컬 스냅샷으로 읽기를 처리하고, 쓰기가 발생하면 그때 Redis 세션을 로드하는 세션
+    public final class NearCachedSession implements Session {
+
+        private final MapSession snapshot;
+        private final String originalId;
+        private Session delegate;
+        private Instant lastAccessedTime;
+        private boolean attributesChanged;
+
+        private NearCachedSession(MapSession snapshot, Session delegate) {
+            this.snapshot = snapshot;
+            this.delegate = delegate;
+            this.originalId = snapshot.getId();
+            this.lastAccessedTime = snapshot.getLastAccessedTime();
+        }
+
+        private boolean isLoaded() {
+            return delegate != null;
+        }
+
+        private Session loadDelegate() {
+            if (delegate == null) {
+                delegate = NearCacheSessionRepository.this.delegate.findById(originalId);
+                if (delegate != null) {
+                    delegate.setLastAccessedTime(lastAccessedTime);
+                }
+            }
+            return delegate;
+        }
+
+        // 쓰기 작업 전 Redis 세션을 로드 (다른 노드에서 이미 삭제된 세션이면 예외)
+        private Session writable() {
+            Session session = loadDelegate();
+            if (session == null) {
+                throw new IllegalStateException("Session was invalidated: " + originalId);
+            }
+            return session;
+        }
+
+        private Session readable() {
+            return delegate != null ? delegate : snapshot;
+        }
+
+        @Override
+        public String getId() {
+            return readable().getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return writable().changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return readable().getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return readable().getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            writable().setAttribute(attributeName, attributeValue);
+            attributesChanged = true;
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            writable().removeAttribute(attributeName);
+            attributesChanged = true;
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return readable().getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            this.lastAccessedTime = lastAccessedTime;
+            if (delegate != null) {
+                delegate.setLastAccessedTime(lastAccessedTime);
+            }
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return lastAccessedTime;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            writable().setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return readable().getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return readable().isExpired();
+        }
+    }
+}
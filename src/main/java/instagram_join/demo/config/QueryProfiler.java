@@ -0,0 +1,197 @@
+package instagram_join.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// SQL 실행 계측 (Hibernate StatementInspector + SessionEventListener)
+// - 현재 스레드에 프로파일이 시작되어 있으면 (요청 단위: QueryProfilingFilter) 문장 수, 같은 문장의 반복 횟수, 엔티티 로드 수를 기록
+// - 모든 문장의 실행 시간은 db.query 타이머에, slow-query-threshold 를 넘는 문장은 db.query.slow 카운터와 경고 로그에 기록
+@Slf4j
+@Component
+public class QueryProfiler implements StatementInspector, HibernatePropertiesCustomizer {
+
+    // 현재 스레드의 프로파일 (없으면 계측만 하고 집계하지 않음)
+    private static final ThreadLocal<Profile> CURRENT = new ThreadLocal<>();
+    // 마지막으로 준비된 SQL -> 실행 시간을 잴 때 느린 쿼리 로그에 사용
+    private static final ThreadLocal<String> LAST_SQL = new ThreadLocal<>();
+
+    // Hibernate 가 세션마다 생성하는 TimingListener 가 참조하는 인스턴스
+    private static volatile QueryProfiler instance;
+
+    // 최근 문장 실행 시간의 지수 이동 평균 (ms) -> 부하 차단(LoadShedder) 판단에 사용
+    // 여러 스레드가 동시에 갱신하면 일부 값이 빠질 수 있지만 평균을 보는 용도로는 충분
+    private static final double LATENCY_SMOOTHING = 0.05;
+    private volatile double recentLatencyMillis;
+
+    private final long slowQueryThresholdNanos;
+    private final Timer queryTimer;
+    private final Counter slowQueryCounter;
+
+    public QueryProfiler(MeterRegistry meterRegistry,
+                         @Value("${query-profiling.slow-query-threshold}") Duration slowQueryThreshold) {
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+        this.queryTimer = Timer.builder("db.query")
+                .description("JDBC statement execution time")
+                .register(meterRegistry);
+        this.slowQueryCounter = Counter.builder("db.query.slow")
+                .description("JDBC statements slower than query-profiling.slow-query-threshold")
+                .register(meterRegistry);
+        instance = this;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TimingListener.class.getName());
+    }
+
+    // 문장이 준비될 때마다 호출 (배치 문장은 한 번)
+    @Override
+    public String inspect(String sql) {
+        LAST_SQL.set(sql);
+        Profile profile = CURRENT.get();
+        if (profile != null) {
+            profile.statement(sql);
+        }
+        return sql;
+    }
+
+    // 현재 스레드에서 프로파일 시작 -> 이미 시작된 프로파일이 있으면 그대로 사용 (테스트에서 요청을 감싸는 경우)
+    // 반환값이 true 인 호출자만 stop() 으로 프로파일을 끝낸다
+    public static boolean start() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new Profile());
+        return true;
+    }
+
+    public static Profile stop() {
+        Profile profile = CURRENT.get();
+        CURRENT.remove();
+        LAST_SQL.remove();
+        return profile;
+    }
+
+    public static Profile current() {
+        return CURRENT.get();
+    }
+
+    static void recordEntityLoad(String entityName) {
+        Profile profile = CURRENT.get();
+        if (profile != null) {
+            profile.entityLoad(entityName);
+        }
+    }
+
+    public double getRecentLatencyMillis() {
+        return recentLatencyMillis;
+    }
+
+    private void recordExecution(long nanos) {
+        queryTimer.record(nanos, TimeUnit.NANOSECONDS);
+        recentLatencyMillis += LATENCY_SMOOTHING * (nanos / 1_000_000.0 - recentLatencyMillis);
+        if (nanos < slowQueryThresholdNanos) {
+            return;
+        }
+        slowQueryCounter.increment();
+        String sql = LAST_SQL.get();
+        Profile profile = CURRENT.get();
+        if (profile != null) {
+            profile.slowQueries.add(sql);
+        }
+        log.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), sql);
+    }
+
+    // 한 요청(또는 테스트 구간)에서 실행된 SQL 집계
+    public static final class Profile {
+
+        private int statements;
+        // 처음 실행된 순서대로 유지
+        private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+        private final Map<String, Integer> entityLoads = new HashMap<>();
+        private final List<String> slowQueries = new ArrayList<>();
+
+        private void statement(String sql) {
+            statements++;
+            statementCounts.merge(sql, 1, Integer::sum);
+        }
+
+        private void entityLoad(String entityName) {
+            entityLoads.merge(entityName, 1, Integer::sum);
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        // 실행된 SQL (중복 제외, 처음 실행된 순서)
+        public List<String> getSql() {
+            return List.copyOf(statementCounts.keySet());
+        }
+
+        public int getEntityLoads() {
+            return entityLoads.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        public Map<String, Integer> getEntityLoadsByEntity() {
+            return Collections.unmodifiableMap(entityLoads);
+        }
+
+        public List<String> getSlowQueries() {
+            return Collections.unmodifiableList(slowQueries);
+        }
+
+        // 가장 많이 반복된 문장 (N+1 의심) -> 없으면 null
+        public Map.Entry<String, Integer> getMostRepeated() {
+            return statementCounts.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+
+        @Override
+        public String toString() {
+            Map.Entry<String, Integer> repeated = getMostRepeated();
+            return "statements=" + statements +
+                    ", entityLoads=" + entityLoads +
+                    ", slowQueries=" + slowQueries.size() +
+                    (repeated == null ? "" : ", mostRepeated=" + repeated.getValue() + "x " + repeated.getKey());
+        }
+    }
+
+    // 세션마다 생성되는 실행 시간 리스너 (hibernate.session.events.auto -> 기본 생성자 필요)
+    public static class TimingListener implements SessionEventListener {
+
+        private long start;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            QueryProfiler profiler = instance;
+            if (profiler != null) {
+                profiler.recordExecution(System.nanoTime() - start);
+            }
+        }
+    }
+}
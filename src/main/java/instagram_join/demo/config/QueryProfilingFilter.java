@@ -0,0 +1,104 @@
+package instagram_join.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// 요청 단위 쿼리 프로파일링
+// - 요청마다 QueryProfiler 프로파일을 시작하고, 끝나면 엔드포인트(uri 패턴)별 문장 수 / 엔티티 로드 수를 기록
+// - 같은 문장이 repeated-statement-threshold 번 이상 실행되면 N+1 로 보고 경고 로그 + db.query.repeated 카운터
+// - 요청 스레드 밖(reactive 스케줄러, Fan-out 워커 등)에서 실행된 쿼리는 집계되지 않는다
+@Slf4j
+@Component
+public class QueryProfilingFilter extends OncePerRequestFilter {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    private final int repeatedStatementThreshold;
+    private final int maxStatementsPerRequest;
+
+    public QueryProfilingFilter(EntityManagerFactory entityManagerFactory,
+                                MeterRegistry meterRegistry,
+                                @Value("${query-profiling.repeated-statement-threshold}") int repeatedStatementThreshold,
+                                @Value("${query-profiling.max-statements-per-request}") int maxStatementsPerRequest) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+    }
+
+    // 엔티티 로드 이벤트 -> 현재 요청의 프로파일에 기록 (지연 로딩 포함)
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD,
+                (PostLoadEventListener) event -> QueryProfiler.recordEntityLoad(event.getPersister().getEntityName()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean started = QueryProfiler.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (started) {
+                record(request, QueryProfiler.stop());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryProfiler.Profile profile) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("JDBC statements per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(profile.getStatements());
+        DistributionSummary.builder("http.server.requests.entity.loads")
+                .description("Entities loaded (including lazy loads) per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(profile.getEntityLoads());
+
+        Map.Entry<String, Integer> repeated = profile.getMostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatedStatementThreshold) {
+            Counter.builder("db.query.repeated")
+                    .description("Requests that executed the same statement repeatedly (N+1)")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1 on {} {}: {} executions of {}", method, uri, repeated.getValue(), repeated.getKey());
+        }
+        if (profile.getStatements() > maxStatementsPerRequest) {
+            log.warn("{} {} executed {} statements ({})", method, uri, profile.getStatements(), profile);
+        }
+    }
+}
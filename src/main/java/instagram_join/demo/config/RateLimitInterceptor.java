@@ -0,0 +1,105 @@
+package instagram_join.demo.config;
+
+import instagram_join.demo.service.LoadShedder;
+import instagram_join.demo.service.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+// @RateLimited 엔드포인트의 요청 수 제한 + 과부하 차단 -> 429 Too Many Requests + Retry-After(초)
+// - 클라이언트: 로그인 세션의 userId, 세션이 없으면 원격 주소로 식별
+//   (경로의 {userId} 는 요청자가 아니라 조회 대상이므로 사용하지 않음, 프록시 뒤에서는 server.forward-headers-strategy 로 실제 클라이언트 주소 사용)
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String REASON_RATE_LIMIT = "rate_limit";
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean rateLimitEnabled;
+
+    // 과부하로 거절할 때 안내하는 재시도 대기 시간
+    private final long shedRetryAfterSeconds;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, LoadShedder loadShedder, MeterRegistry meterRegistry,
+                                @Value("${rate-limit.enabled}") boolean rateLimitEnabled,
+                                @Value("${load-shedding.retry-after}") Duration shedRetryAfter) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.meterRegistry = meterRegistry;
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.shedRetryAfterSeconds = Math.max(1, shedRetryAfter.toSeconds());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 요청(SSE, Mono)의 재디스패치는 이미 처음 요청에서 검사함
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RateLimited.class);
+        if (rateLimited == null) {
+            rateLimited = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RateLimited.class);
+        }
+        if (rateLimited == null) {
+            return true;
+        }
+
+        // 과부하 차단을 먼저 확인 -> 거절되는 요청이 클라이언트의 토큰을 쓰지 않도록
+        String shedReason = loadShedder.shouldShed(rateLimited.shedOnFanOutLag());
+        if (shedReason != null) {
+            return reject(response, rateLimited.value(), shedReason, shedRetryAfterSeconds);
+        }
+
+        if (!rateLimitEnabled) {
+            return true;
+        }
+        long retryAfterMillis = rateLimiter.tryAcquire(rateLimited.value(), client(request));
+        if (retryAfterMillis > 0) {
+            return reject(response, rateLimited.value(), REASON_RATE_LIMIT, (retryAfterMillis + 999) / 1000);
+        }
+        return true;
+    }
+
+    private boolean reject(HttpServletResponse response, String limit, String reason, long retryAfterSeconds) {
+        Counter.builder("http.server.requests.rejected")
+                .description("Requests rejected with 429 by rate limiting or load shedding")
+                .tag("limit", limit)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return false;
+    }
+
+    private static String client(HttpServletRequest request) {
+        try {
+            HttpSession session = request.getSession(false);
+            Object userId = session != null ? session.getAttribute("userId") : null;
+            if (userId != null) {
+                return "user:" + userId;
+            }
+        } catch (RuntimeException e) {
+            // 세션 저장소(Redis) 장애 -> 원격 주소로 식별
+            log.debug("Failed to read session for rate limiting: {}", e.getMessage());
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,18 @@
+package instagram_join.demo.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 요청 수 제한 대상 엔드포인트 (RateLimitInterceptor)
+// - value: 제한 이름 -> rate-limit.{value}.capacity / refill-per-second 설정 사용, 사용자별로 따로 집계
+// - shedOnFanOutLag: Fan-out 지연이 임계값을 넘으면 요청을 거절 (새 Fan-out 작업을 만드는 쓰기 엔드포인트)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    String value();
+
+    boolean shedOnFanOutLag() default false;
+}
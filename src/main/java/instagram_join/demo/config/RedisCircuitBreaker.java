@@ -0,0 +1,176 @@
+package instagram_join.demo.config;
+
+import io.lettuce.core.RedisException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Redis 장애 시 Redis 호출을 차단하는 서킷 브레이커
+// - 최근 window-size 번의 호출 중 실패 비율이 failure-rate-threshold(%) 이상이면 open
+//   (느린 호출은 spring.data.redis.timeout 으로 실패가 되어 함께 집계)
+// - open 상태에서는 Redis 를 호출하지 않고 바로 대체 경로(로컬 캐시 / DB / 로컬 outbox) 사용
+// - open-duration 이 지나면 요청 대신 PING 으로 확인 (성공하면 close, 실패하면 다시 open-duration 동안 open)
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationMillis;
+
+    // 최근 호출 결과 (true = 실패), 원형 버퍼
+    private final boolean[] window;
+    private int position;
+    private int calls;
+    private int failures;
+
+    // open 된 시각 (0 이면 closed) -> PING 확인이 실패할 때마다 갱신
+    private volatile long openedAt;
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter rejectedCounter;
+
+    public RedisCircuitBreaker(StringRedisTemplate stringRedisTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${redis.circuit-breaker.window-size}") int windowSize,
+                               @Value("${redis.circuit-breaker.minimum-calls}") int minimumCalls,
+                               @Value("${redis.circuit-breaker.failure-rate-threshold}") int failureRateThreshold,
+                               @Value("${redis.circuit-breaker.open-duration}") Duration openDuration) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMillis = openDuration.toMillis();
+        this.window = new boolean[windowSize];
+
+        Gauge.builder("redis.circuit.open", this, breaker -> breaker.isOpen() ? 1 : 0)
+                .description("Whether Redis calls are currently short-circuited (1 = open)")
+                .register(meterRegistry);
+        this.successCounter = calls(meterRegistry, "success");
+        this.failureCounter = calls(meterRegistry, "failure");
+        this.rejectedCounter = calls(meterRegistry, "rejected");
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("redis.circuit.calls")
+                .description("Redis calls guarded by the circuit breaker")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Redis 를 호출하고, 차단 중이거나 Redis 오류가 발생하면 fallback 결과 반환
+    // Redis 오류가 아닌 예외는 그대로 전달 (실패로 집계하지 않음)
+    public <T> T execute(Supplier<T> redisCall, Supplier<T> fallback) {
+        if (isOpen()) {
+            rejectedCounter.increment();
+            return fallback.get();
+        }
+        T result;
+        try {
+            result = redisCall.get();
+        } catch (RuntimeException e) {
+            if (!isRedisFailure(e)) {
+                throw e;
+            }
+            recordFailure(e);
+            return fallback.get();
+        }
+        recordSuccess();
+        return result;
+    }
+
+    // true 이면 Redis 를 호출하지 않고 대체 경로 사용
+    public boolean isOpen() {
+        return openedAt != 0;
+    }
+
+    // execute 를 쓸 수 없는 호출(reactive 명령 등)의 결과 기록
+    public void recordSuccess() {
+        successCounter.increment();
+        record(false);
+    }
+
+    public void recordFailure(Throwable cause) {
+        failureCounter.increment();
+        if (record(true)) {
+            log.warn("Redis circuit opened for {} ms - {}", openDurationMillis, cause.toString());
+        }
+    }
+
+    // 결과를 기록하고 이번 기록으로 open 되었으면 true
+    private synchronized boolean record(boolean failed) {
+        if (openedAt != 0) {
+            return false;
+        }
+        if (calls == windowSize) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[position] = failed;
+        if (failed) {
+            failures++;
+        }
+        position = (position + 1) % windowSize;
+
+        if (calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+            resetWindow();
+            openedAt = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    // open-duration 이 지나면 PING 으로 Redis 복구 확인
+    @Scheduled(fixedDelayString = "${redis.circuit-breaker.probe-interval}")
+    public void probe() {
+        long opened = openedAt;
+        if (opened == 0 || System.currentTimeMillis() - opened < openDurationMillis) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(RedisConnection::ping, true);
+        } catch (RuntimeException e) {
+            openedAt = System.currentTimeMillis();
+            log.debug("Redis is still unavailable: {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            resetWindow();
+            openedAt = 0;
+        }
+        log.warn("Redis circuit closed - Redis calls resumed");
+    }
+
+    private void resetWindow() {
+        position = 0;
+        calls = 0;
+        failures = 0;
+    }
+
+    // Redis 연결 실패 / 명령 타임아웃 / Lettuce 오류인지 확인 (원인 예외까지 확인)
+    public static boolean isRedisFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RedisConnectionFailureException || cause instanceof RedisException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package instagram_join.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// datasource.replica.enabled=true 인 경우 읽기 전용 트랜잭션을 복제본으로 보낸다
+// - 쓰기 트랜잭션과 트랜잭션 밖의 쓰기는 항상 primary (spring.datasource.url)
+// - @Transactional(readOnly = true) 는 커넥션을 readOnly 로 설정 -> LazyConnectionDataSourceProxy 가
+//   실제 커넥션을 얻는 시점에 readOnly 여부를 보고 복제본 DataSource 를 선택
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             @Value("${datasource.replica.urls}") List<String> urls,
+                                                             @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+                                                             @Value("${datasource.replica.password:${spring.datasource.password}}") String password,
+                                                             @Value("${datasource.replica.max-lag}") Duration maxLag) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // 기동 시 복제본에 접속할 수 없어도 애플리케이션은 시작 (지연 확인에서 제외됨)
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag);
+        return replicaRoutingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    // 복제 지연 확인 -> 지연이 큰 복제본은 읽기 대상에서 제외하고, 회복되면 다시 포함
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval}")
+    public void checkReplicationLag() {
+        if (replicaRoutingDataSource != null) {
+            replicaRoutingDataSource.checkReplicationLag();
+        }
+    }
+}
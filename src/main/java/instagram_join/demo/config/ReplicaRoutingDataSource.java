@@ -0,0 +1,103 @@
+package instagram_join.demo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 읽기 전용 커넥션을 여러 복제본(read replica)에 라운드 로빈으로 분배하는 DataSource
+// - 복제 지연이 maxLag 를 넘거나 접속할 수 없는 복제본은 제외
+// - 사용 가능한 복제본이 하나도 없으면 primary 로 대체
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+
+    // 현재 읽기 요청을 받을 수 있는 복제본 키 목록 (지연 확인 시 교체)
+    private volatile List<String> healthyReplicas;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.healthyReplicas = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(counter.getAndIncrement(), healthy.size()));
+    }
+
+    // 각 복제본의 복제 지연을 확인하여 사용 가능한 복제본 목록을 갱신
+    public void checkReplicationLag() {
+        List<String> healthy = new ArrayList<>();
+        replicas.forEach((key, dataSource) -> {
+            try {
+                Duration lag = replicationLag(dataSource);
+                if (lag != null && lag.compareTo(maxLag) <= 0) {
+                    healthy.add(key);
+                } else {
+                    log.warn("Replica {} excluded from reads - replication lag: {}", key, lag);
+                }
+            } catch (SQLException e) {
+                log.warn("Replica {} excluded from reads - {}", key, e.getMessage());
+            }
+        });
+
+        if (!healthy.equals(healthyReplicas)) {
+            log.info("Healthy read replicas changed: {} -> {}", healthyReplicas, healthy);
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    // 애플리케이션 종료 시 복제본 커넥션 풀 종료 (복제본 DataSource 는 빈으로 등록되지 않음)
+    public void close() throws Exception {
+        for (DataSource dataSource : replicas.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // SHOW REPLICA STATUS 의 Seconds_Behind_Source
+    // - 복제가 설정되지 않은 인스턴스(로컬 테스트용 DB 등)는 지연 0 으로 간주
+    // - 복제가 멈춘 경우(값이 NULL) null 반환
+    private static Duration replicationLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                return Duration.ZERO;
+            }
+            long seconds = rs.getLong("Seconds_Behind_Source");
+            return rs.wasNull() ? null : Duration.ofSeconds(seconds);
+        }
+    }
+}
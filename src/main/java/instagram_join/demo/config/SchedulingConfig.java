@@ -0,0 +1,10 @@
+package instagram_join.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 작업(Fan-out 처리, 카운터 보정 등) 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
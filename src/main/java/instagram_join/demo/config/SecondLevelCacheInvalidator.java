@@ -0,0 +1,122 @@
+package instagram_join.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+// Hibernate 2차 캐시(노드별 로컬 캐시)의 노드 간 무효화
+// - 2차 캐시 대상 엔티티(User, Follower)가 커밋되면 Redis Pub/Sub 으로 다른 노드에 알린다
+// - 메시지를 받은 노드는 해당 엔티티와 쿼리 캐시(findByEmail 결과)를 제거
+@Slf4j
+@Component
+public class SecondLevelCacheInvalidator implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "hibernate:invalidation";
+    // - 무효화 메시지 형식: {nodeId}:{entityName}:{id}
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                       StringRedisTemplate stringRedisTemplate,
+                                       RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+    }
+
+    // Hibernate 이벤트 리스너와 Redis 구독 등록
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = sessionFactory().getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    // 새 엔티티 -> 다른 노드의 쿼리 캐시에 남아있는 "결과 없음" 제거 (예: 가입 직후 findByEmail)
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister().getEntityName(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister().getEntityName(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister().getEntityName(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    // 2차 캐시 대상 엔티티만 처리
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    private void publish(String entityName, Object id) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + entityName + ":" + id);
+        } catch (Exception e) {
+            // 발행 실패 시 다른 노드의 캐시는 만료 시간(hibernate-cache.conf)이 지나면 갱신됨
+            log.warn("Failed to publish second-level cache invalidation: {}#{}", entityName, id, e);
+        }
+    }
+
+    // 다른 노드에서 발행한 무효화 메시지 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        CacheImplementor cache = sessionFactory().getCache();
+        cache.evictEntityData(parts[1], Long.valueOf(parts[2]));
+        cache.evictDefaultQueryRegion();
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+}
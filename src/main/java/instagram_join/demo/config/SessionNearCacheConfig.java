@@ -0,0 +1,60 @@
+package instagram_join.demo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.data.redis.RedisSessionRepository;
+
+import java.time.Duration;
+
+// session.near-cache.enabled=true 인 경우에만 Redis 세션 저장소를 NearCacheSessionRepository 로 감싼다
+@Configuration
+@ConditionalOnProperty(name = "session.near-cache.enabled", havingValue = "true")
+public class SessionNearCacheConfig {
+
+    @Bean
+    public static BeanPostProcessor nearCacheSessionRepositoryPostProcessor(
+            ObjectProvider<StringRedisTemplate> stringRedisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> redisMessageListenerContainer,
+            Environment environment) {
+
+        return new BeanPostProcessor() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof RedisSessionRepository redisSessionRepository)) {
+                    return bean;
+                }
+
+                // 로컬 스냅샷 유지 시간 -> 다른 노드에서 변경된 세션을 반영하기까지의 최대 지연
+                Duration ttl = environment.getProperty("session.near-cache.ttl", Duration.class, Duration.ofSeconds(5));
+                long maximumSize = environment.getProperty("session.near-cache.maximum-size", Long.class, 10000L);
+                Duration touchInterval = environment.getProperty("session.near-cache.touch-interval",
+                        Duration.class, Duration.ofSeconds(60));
+
+                NearCacheSessionRepository repository = new NearCacheSessionRepository(
+                        (SessionRepository<Session>) (SessionRepository<?>) redisSessionRepository,
+                        Caffeine.newBuilder()
+                                .maximumSize(maximumSize)
+                                .expireAfterWrite(ttl)
+                                .<String, MapSession>build(),
+                        stringRedisTemplate.getObject(),
+                        touchInterval);
+
+                redisMessageListenerContainer.getObject().addMessageListener(repository,
+                        new ChannelTopic(NearCacheSessionRepository.INVALIDATION_CHANNEL));
+                return repository;
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package instagram_join.demo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+// 1차 캐시(JVM 내부 Caffeine) + 2차 캐시(Redis)로 구성된 2단계 캐시
+// - 조회: 로컬 캐시 -> Redis -> (둘 다 없으면) 실제 메서드 호출
+// - 변경: Redis 반영 후 로컬 캐시를 갱신하고, 다른 노드에는 무효화 메시지를 발행
+// - Redis 호출은 서킷 브레이커를 거침 -> Redis 장애 중에는 로컬 캐시만 사용하고 예외를 호출자에게 전달하지 않음
+//   (커밋 후 캐시 제거가 실패해도 이미 커밋된 요청이 500 이 되지 않도록)
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private final Cache redisCache;
+    private final TwoLevelCacheManager cacheManager;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache,
+                         Cache redisCache,
+                         TwoLevelCacheManager cacheManager,
+                         RedisCircuitBreaker redisCircuitBreaker) {
+        super(true);
+        this.name = name;
+        this.localCache = localCache;
+        this.redisCache = redisCache;
+        this.cacheManager = cacheManager;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object localKey = localKey(key);
+
+        // 1차 캐시 확인 -> 네트워크 왕복 없이 바로 반환
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+
+        // 2차 캐시(Redis) 확인 후 1차 캐시에 채워 넣음 (Redis 장애 중에는 캐시 미스로 처리)
+        ValueWrapper wrapper = redisCircuitBreaker.execute(() -> redisCache.get(key), () -> null);
+        if (wrapper == null) {
+            return null;
+        }
+        Object storeValue = toStoreValue(wrapper.get());
+        localCache.put(localKey, storeValue);
+        return storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object storeValue = localCache.get(localKey(key),
+                k -> toStoreValue(redisCircuitBreaker.execute(
+                        () -> redisCache.get(key, valueLoader),
+                        () -> load(key, valueLoader))));
+        return (T) fromStoreValue(storeValue);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisCircuitBreaker.execute(() -> {
+            redisCache.put(key, value);
+            return null;
+        }, () -> {
+            log.debug("Redis unavailable - cached {}:{} locally only", name, key);
+            return null;
+        });
+        localCache.put(localKey(key), toStoreValue(value));
+        cacheManager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCircuitBreaker.execute(() -> {
+            redisCache.evict(key);
+            return null;
+        }, () -> {
+            // Redis 의 항목은 TTL 까지 남을 수 있음
+            log.warn("Redis unavailable - could not evict {}:{} from Redis", name, key);
+            return null;
+        });
+        localCache.invalidate(localKey(key));
+        cacheManager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        redisCircuitBreaker.execute(() -> {
+            redisCache.clear();
+            return null;
+        }, () -> {
+            log.warn("Redis unavailable - could not clear {} in Redis", name);
+            return null;
+        });
+        localCache.invalidateAll();
+        cacheManager.publishClear(name);
+    }
+
+    // Redis 를 거치지 않고 값을 생성 (Redis 장애 중)
+    private static <T> T load(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    // 다른 노드에서 전달된 무효화 메시지 처리 (Redis 는 이미 갱신된 상태이므로 로컬만 제거)
+    void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    // 노드 간 무효화 메시지로 키를 주고받기 때문에 로컬 캐시의 키는 문자열로 통일
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
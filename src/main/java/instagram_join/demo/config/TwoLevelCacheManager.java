@@ -0,0 +1,100 @@
+package instagram_join.demo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 로컬 캐시(Caffeine)를 Redis 캐시 앞에 두는 CacheManager
+// 캐시 변경 시 Redis Pub/Sub 으로 무효화 메시지를 발행하여 모든 노드의 로컬 캐시를 정리한다
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+    // - 무효화 메시지 형식: {nodeId}:{cacheName}:{key}  (key 가 없으면 캐시 전체 삭제)
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Caffeine<Object, Object> localCacheBuilder;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+
+    // 자신이 발행한 메시지는 무시하기 위한 노드 식별자
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                StringRedisTemplate stringRedisTemplate,
+                                Caffeine<Object, Object> localCacheBuilder,
+                                RedisCircuitBreaker redisCircuitBreaker) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localCacheBuilder = localCacheBuilder;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache redisCache = redisCacheManager.getCache(cacheName);
+            return redisCache == null ? null
+                    : new TwoLevelCache(cacheName, localCacheBuilder.build(), redisCache, this, redisCircuitBreaker);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(nodeId + ":" + cacheName + ":" + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(nodeId + ":" + cacheName);
+    }
+
+    private void publish(String message) {
+        try {
+            redisCircuitBreaker.execute(() -> stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, message), () -> {
+                log.warn("Redis unavailable - cache invalidation not published: {}", message);
+                return null;
+            });
+        } catch (Exception e) {
+            // 발행 실패 시 다른 노드의 로컬 캐시는 만료 시간(TTL)까지 남아있을 수 있음
+            log.warn("Failed to publish cache invalidation: {}", message, e);
+        }
+    }
+
+    // 다른 노드에서 발행한 무효화 메시지 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+
+        if (parts.length == 3) {
+            cache.evictLocal(parts[2]);
+        } else {
+            cache.clearLocal();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package instagram_join.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+// 가상 스레드 고정(pinning) 진단
+// - synchronized 블록이나 네이티브 호출 안에서 블로킹되면 가상 스레드가 캐리어 스레드를 점유한 채 대기
+//   (JDBC 드라이버 / 커넥션 풀 내부의 synchronized 구간 등) -> 동시 처리량이 캐리어 스레드 수로 제한됨
+// - JFR 의 jdk.VirtualThreadPinned 이벤트를 구독하여 threshold 이상 고정된 경우 스택과 함께 기록
+// - JDK 21 미만에서는 이벤트가 발생하지 않음
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Counter pinnedCounter;
+
+    // 이 시간 이상 고정된 경우만 기록
+    @Value("${virtual-threads.pinning.threshold}")
+    private Duration threshold;
+
+    // 로그에 남길 스택 프레임 수
+    @Value("${virtual-threads.pinning.stack-depth}")
+    private int stackDepth;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual thread pinning events longer than the configured threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+
+        String stack = event.getStackTrace() == null ? "" : event.getStackTrace().getFrames().stream()
+                .limit(stackDepth)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        log.warn("Virtual thread pinned for {} ms on {}{}", event.getDuration().toMillis(),
+                event.getThread() == null ? "?" : event.getThread().getJavaName(), stack);
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+}
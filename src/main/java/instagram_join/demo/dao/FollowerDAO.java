@@ -1,17 +1,62 @@
 package instagram_join.demo.dao;
 
+import instagram_join.demo.dto.FollowUserDTO;
+import instagram_join.demo.dto.FollowerDTO;
 import instagram_join.demo.entity.Follower;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+@Transactional(readOnly = true)
 public interface FollowerDAO extends JpaRepository<Follower, Long> {
 
     @Query("SELECT f FROM Follower f JOIN FETCH f.follower WHERE f.following.id = :userId")
     List<Follower> findFollowers(@Param("userId") Long userId);
 
-    @Query("SELECT f FROM Follower f JOIN FETCH f.following WHERE f.follower.id = :userId")
-    List<Follower> findFollowing(@Param("userId") Long userId);
+    // 특정 사용자를 팔로우하는 사용자 ID 목록 (User 엔티티 로딩 없음)
+    @Query("SELECT f.follower.id FROM Follower f WHERE f.following.id = :userId")
+    List<Long> findFollowerIds(@Param("userId") Long userId);
+
+    // 특정 사용자가 팔로우하는 사용자 ID 목록 (User 엔티티 로딩 없음)
+    @Query("SELECT f.following.id FROM Follower f WHERE f.follower.id = :userId")
+    List<Long> findFollowingIds(@Param("userId") Long userId);
+
+    // 팔로워 ID 페이지 조회 -> (following_id, follower_id) 인덱스만으로 처리 (테이블 접근 없음)
+    @Query("SELECT f.follower.id FROM Follower f " +
+            "WHERE f.following.id = :userId AND f.follower.id > :afterId ORDER BY f.follower.id")
+    List<Long> findFollowerIdsAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 팔로워 ID + 사용자 이름 페이지 조회
+    @Query("SELECT new instagram_join.demo.dto.FollowUserDTO(u.id, u.userName) FROM Follower f JOIN f.follower u " +
+            "WHERE f.following.id = :userId AND f.follower.id > :afterId ORDER BY f.follower.id")
+    List<FollowUserDTO> findFollowerUsersAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 팔로잉 ID 페이지 조회 -> (follower_id, following_id) 인덱스만으로 처리
+    @Query("SELECT f.following.id FROM Follower f " +
+            "WHERE f.follower.id = :userId AND f.following.id > :afterId ORDER BY f.following.id")
+    List<Long> findFollowingIdsAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 팔로잉 ID + 사용자 이름 페이지 조회
+    @Query("SELECT new instagram_join.demo.dto.FollowUserDTO(u.id, u.userName) FROM Follower f JOIN f.following u " +
+            "WHERE f.follower.id = :userId AND f.following.id > :afterId ORDER BY f.following.id")
+    List<FollowUserDTO> findFollowingUsersAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 키셋 페이지 조회 -> 연관된 User 엔티티를 로딩하지 않고 ID 만 조회
+    @Query("SELECT new instagram_join.demo.dto.FollowerDTO(f.id, f.follower.id, f.following.id, f.createdAt) " +
+            "FROM Follower f WHERE f.id > :afterId ORDER BY f.id")
+    List<FollowerDTO> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 전체 팔로우 관계 스트리밍 조회 (NDJSON 내보내기용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new instagram_join.demo.dto.FollowerDTO(f.id, f.follower.id, f.following.id, f.createdAt) " +
+            "FROM Follower f ORDER BY f.id")
+    Stream<FollowerDTO> streamAll();
 }
@@ -5,15 +5,24 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+@Transactional(readOnly = true)
 public interface LikesDAO extends JpaRepository<Likes, Long> {
 
     @Query("SELECT l FROM Likes l JOIN FETCH l.postId p JOIN FETCH l.userId u WHERE l.userId.id = :userId")
     List<Likes> findLikesByUserId(@Param("userId") Long userId);
 
     @Modifying
+    @Transactional
     @Query("DELETE FROM Likes l WHERE l.postId.id = :postId")
     void deleteLikesByPostId(@Param("postId") Long postId);
+
+    // 특정 유저가 작성한 모든 게시글의 좋아요를 한 문장으로 삭제
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Likes l WHERE l.postId.id IN (SELECT p.id FROM Post p WHERE p.user.id = :userId)")
+    void deleteLikesByPostAuthorId(@Param("userId") Long userId);
 }
@@ -1,24 +1,87 @@
 package instagram_join.demo.dao;
 
+import instagram_join.demo.dto.PostDTO;
 import instagram_join.demo.entity.Post;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+// 조회 쿼리는 읽기 전용 트랜잭션으로 실행 -> 복제본(read replica)이 설정된 경우 복제본에서 처리
+@Transactional(readOnly = true)
 public interface PostDAO extends JpaRepository<Post, Long> {
 
-    @Query("SELECT p FROM Post p WHERE p.user.id IN :userIds ORDER BY p.updatedAt DESC")
-    Page<Post> findByUserIdInOrderByUpdatedAtDesc(List<Long> userIds, Pageable pageable);
+    // 뉴스피드 게시물 ID 를 최신순으로 조회 (팔로잉하는 작성자 + 자신)
+    // 팔로잉 ID 목록을 IN 절로 넘기지 않고 Follower 테이블과 조인 -> 팔로잉 수와 관계없이 쿼리 문장이 동일
+    // COUNT 쿼리 없이 :limit 개만 조회 (다음 페이지 여부는 limit 을 1 크게 요청하여 판단)
+    // 정렬 기준은 작성 시각(created_at) -> Fan-out / 타임라인 캐시의 score 와 같은 기준 (수정해도 순서가 바뀌지 않음)
+    @Query(value = "SELECT p.id FROM (" + FEED_AUTHORS + ") a JOIN post p ON p.user_id = a.author_id " +
+            "ORDER BY p.created_at DESC, p.id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findLatestFeedPostIds(@Param("userId") Long userId, @Param("limit") int limit);
 
-    @Query("SELECT p FROM Post p JOIN FETCH p.user u WHERE p.id IN :postIds ORDER BY p.updatedAt DESC")
+    // 키셋 페이지 조회 -> (beforeCreatedAt, beforeId) 보다 오래된 뉴스피드 게시물 ID (OFFSET 없음)
+    @Query(value = "SELECT p.id FROM (" + FEED_AUTHORS + ") a JOIN post p ON p.user_id = a.author_id " +
+            "WHERE p.created_at < :beforeCreatedAt OR (p.created_at = :beforeCreatedAt AND p.id < :beforeId) " +
+            "ORDER BY p.created_at DESC, p.id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findFeedPostIdsBefore(@Param("userId") Long userId,
+                                     @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                     @Param("beforeId") Long beforeId,
+                                     @Param("limit") int limit);
+
+    // 뉴스피드에 포함되는 작성자 ID (팔로잉하는 사용자 + 자신)
+    String FEED_AUTHORS = "SELECT f.following_id AS author_id FROM follower f WHERE f.follower_id = :userId " +
+            "UNION ALL SELECT :userId";
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.user u WHERE p.id IN :postIds ORDER BY p.createdAt DESC, p.id DESC")
     List<Post> findByIdIn(@Param("postIds") List<Long> postIds);
 
-    // 특정 유저가 작성한 모든 게시글을 가져온다 -> 특정 유저를 삭제하면 그 유저가 작성한
-    // 게시글 전부 삭제
-    @Query("SELECT p FROM Post p WHERE p.user.id = :userId")
-    List<Post> findAllPostsByUserId(@Param("userId") Long userId);
+    // 특정 유저가 작성한 모든 게시글 ID -> 특정 유저를 삭제하면 그 유저가 작성한
+    // 게시글 전부 삭제 (피드에서 제거할 ID 만 필요하므로 엔티티는 로딩하지 않음)
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    // 특정 유저가 작성한 게시글을 한 문장으로 삭제 (게시글 수와 관계없이 DELETE 1회)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Post p WHERE p.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // 게시글 작성자 ID 만 조회 (User 엔티티 로딩 없음)
+    @Query("SELECT p.user.id FROM Post p WHERE p.id = :postId")
+    Optional<Long> findAuthorIdById(@Param("postId") Long postId);
+
+    // 여러 작성자의 최신 게시글을 작성자별로 최대 :limit 개씩 조회 ([postId, userId, createdAt] 목록)
+    // 타임라인 캐시가 없는 작성자들을 한 번의 쿼리로 채우기 위해 사용
+    @Query(value = "SELECT t.id, t.user_id, t.created_at FROM (" +
+            "SELECT p.id, p.user_id, p.created_at, " +
+            "ROW_NUMBER() OVER (PARTITION BY p.user_id ORDER BY p.created_at DESC, p.id DESC) AS rn " +
+            "FROM post p WHERE p.user_id IN (:userIds)) t WHERE t.rn <= :limit", nativeQuery = true)
+    List<Object[]> findRecentPostsByUserIds(@Param("userIds") List<Long> userIds, @Param("limit") int limit);
+
+    // 특정 작성자의 게시글을 최신순으로 조회 (프로필 페이지, 타임라인 캐시 범위를 벗어난 경우)
+    @Query("SELECT new instagram_join.demo.dto.PostDTO(p.id, p.caption, p.createdAt, p.updatedAt, u.id, u.userName, u.email) " +
+            "FROM Post p JOIN p.user u WHERE u.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostDTO> findRecentByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 키셋 페이지 조회 -> afterId 보다 큰 ID 의 게시글을 ID 순으로 조회 (OFFSET 없이 PK 인덱스 사용)
+    @Query("SELECT new instagram_join.demo.dto.PostDTO(p.id, p.caption, p.createdAt, p.updatedAt, u.id, u.userName, u.email) " +
+            "FROM Post p JOIN p.user u WHERE p.id > :afterId ORDER BY p.id")
+    List<PostDTO> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 전체 게시글 스트리밍 조회 (NDJSON 내보내기용)
+    // fetch size = Integer.MIN_VALUE -> MySQL 드라이버가 결과를 한 행씩 스트리밍 (메모리 사용량 일정)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new instagram_join.demo.dto.PostDTO(p.id, p.caption, p.createdAt, p.updatedAt, u.id, u.userName, u.email) " +
+            "FROM Post p JOIN p.user u ORDER BY p.id")
+    Stream<PostDTO> streamAll();
 }
@@ -1,11 +1,38 @@
 package instagram_join.demo.dao;
 
+import instagram_join.demo.dto.UserDTO;
 import instagram_join.demo.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+@Transactional(readOnly = true)
 public interface UserDAO extends JpaRepository<User, Long> {
 
+    // 쿼리 캐시 사용 -> 결과(User ID)는 쿼리 캐시, User 는 2차 캐시에서 조회
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    // 키셋 페이지 조회 (비밀번호 등 민감한 컬럼은 조회하지 않음)
+    @Query("SELECT new instagram_join.demo.dto.UserDTO(u.id, u.userName, u.email) " +
+            "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserDTO> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 사용자 ID 키셋 페이지 조회 (배치 작업용)
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 전체 사용자 스트리밍 조회 (NDJSON 내보내기용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new instagram_join.demo.dto.UserDTO(u.id, u.userName, u.email) FROM User u ORDER BY u.id")
+    Stream<UserDTO> streamAll();
 }
@@ -0,0 +1,72 @@
+package instagram_join.demo.dao;
+
+import instagram_join.demo.entity.UserStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface UserStatsDAO extends JpaRepository<UserStats, Long> {
+
+    // 네이티브 UPDATE 가 변경하는 테이블 -> 지정하지 않으면 Hibernate 가 어떤 테이블이 바뀌었는지 알 수 없어
+    // 2차 캐시(User, Follower)와 쿼리 캐시 전체를 비움 (팔로우 / 게시글 작성마다)
+    String NATIVE_SPACES = "user_stats";
+
+    // 팔로워 수 증감 -> 행이 없으면 생성 (INSERT ... ON DUPLICATE KEY UPDATE 로 원자적으로 처리)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = NATIVE_SPACES))
+    @Query(value = "INSERT INTO user_stats (user_id, follower_count, following_count, post_count) VALUES (:userId, GREATEST(:delta, 0), 0, 0) " +
+            "ON DUPLICATE KEY UPDATE follower_count = GREATEST(follower_count + :delta, 0)", nativeQuery = true)
+    void addFollowerCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    // 팔로잉 수 증감
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = NATIVE_SPACES))
+    @Query(value = "INSERT INTO user_stats (user_id, follower_count, following_count, post_count) VALUES (:userId, 0, GREATEST(:delta, 0), 0) " +
+            "ON DUPLICATE KEY UPDATE following_count = GREATEST(following_count + :delta, 0)", nativeQuery = true)
+    void addFollowingCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    // 게시글 수 증감
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = NATIVE_SPACES))
+    @Query(value = "INSERT INTO user_stats (user_id, follower_count, following_count, post_count) VALUES (:userId, 0, 0, GREATEST(:delta, 0)) " +
+            "ON DUPLICATE KEY UPDATE post_count = GREATEST(post_count + :delta, 0)", nativeQuery = true)
+    void addPostCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    // 보정 작업용 -> 집계 전에 카운터 행을 잠금 (SELECT ... FOR UPDATE)
+    // 집계 중에 커밋된 증감이 보정 값으로 덮어써지지 않도록 증감 upsert 는 보정 트랜잭션이 끝날 때까지 대기
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId IN :userIds")
+    List<UserStats> findAllByIdForUpdate(@Param("userIds") List<Long> userIds);
+
+    // 보정 작업용 -> 집계한 값으로 덮어씀, 행이 없으면 생성 (증감과 같이 upsert 이므로 동시에 생성되어도 중복 키 오류 없음)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = NATIVE_SPACES))
+    @Query(value = "INSERT INTO user_stats (user_id, follower_count, following_count, post_count) VALUES (:userId, :followers, :following, :posts) " +
+            "ON DUPLICATE KEY UPDATE follower_count = :followers, following_count = :following, post_count = :posts", nativeQuery = true)
+    void setCounts(@Param("userId") Long userId, @Param("followers") long followers,
+                   @Param("following") long following, @Param("posts") long posts);
+
+    // 보정 작업용 -> 사용자 ID 묶음별 실제 개수 집계 ([userId, count] 목록)
+    @Query("SELECT f.following.id, COUNT(f) FROM Follower f WHERE f.following.id IN :userIds GROUP BY f.following.id")
+    List<Object[]> countFollowers(@Param("userIds") List<Long> userIds);
+
+    @Query("SELECT f.follower.id, COUNT(f) FROM Follower f WHERE f.follower.id IN :userIds GROUP BY f.follower.id")
+    List<Object[]> countFollowing(@Param("userIds") List<Long> userIds);
+
+    @Query("SELECT p.user.id, COUNT(p) FROM Post p WHERE p.user.id IN :userIds GROUP BY p.user.id")
+    List<Object[]> countPosts(@Param("userIds") List<Long> userIds);
+}
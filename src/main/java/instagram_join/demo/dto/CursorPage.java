@@ -0,0 +1,26 @@
+package instagram_join.demo.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+// 키셋(커서) 기반 페이지 응답
+// nextCursor 를 다음 요청의 afterId 로 전달하면 이어서 조회할 수 있다 (null 이면 마지막 페이지)
+@Getter
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // 요청한 크기만큼 채워졌다면 마지막 항목의 ID 를 다음 커서로 사용
+    public static <T> CursorPage<T> of(List<T> items, int size, Function<T, Long> idExtractor) {
+        Long nextCursor = items.size() < size ? null : idExtractor.apply(items.get(items.size() - 1));
+        return new CursorPage<>(items, nextCursor);
+    }
+}
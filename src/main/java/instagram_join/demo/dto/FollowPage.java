@@ -0,0 +1,21 @@
+package instagram_join.demo.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 팔로워/팔로잉 목록 페이지 응답
+// totalCount 는 UserStats 에 저장된 값으로, COUNT(*) 없이 제공된다
+@Getter
+public class FollowPage {
+
+    private final List<FollowUserDTO> users;
+    private final Long nextCursor;
+    private final long totalCount;
+
+    public FollowPage(List<FollowUserDTO> users, Long nextCursor, long totalCount) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.totalCount = totalCount;
+    }
+}
@@ -0,0 +1,31 @@
+package instagram_join.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+// 팔로워/팔로잉 목록용 최소 사용자 정보 (userName 은 요청 시에만 포함)
+@Getter @Setter
+@NoArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FollowUserDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long userId;
+    private String userName;
+
+    public FollowUserDTO(Long userId) {
+        this.userId = userId;
+    }
+
+    public FollowUserDTO(Long userId, String userName) {
+        this.userId = userId;
+        this.userName = userName;
+    }
+}
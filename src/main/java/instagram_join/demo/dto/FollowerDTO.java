@@ -0,0 +1,32 @@
+package instagram_join.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter @Setter
+@NoArgsConstructor
+@ToString
+public class FollowerDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private Long followerId;
+    private Long followingId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    public FollowerDTO(Long id, Long followerId, Long followingId, LocalDateTime createdAt) {
+        this.id = id;
+        this.followerId = followerId;
+        this.followingId = followingId;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,23 @@
+package instagram_join.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.List;
+
+// 클라이언트가 마지막으로 본 게시물 이후 뉴스피드에 추가된 게시물 수
+// refreshRequired = true -> 캐시된 피드가 없거나 기준 게시물이 피드에 없으므로 첫 페이지를 다시 조회해야 함
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NewPostsResponse {
+
+    private final long newCount;
+    private final List<Long> postIds; // 요청한 경우에만 포함 (최신순)
+    private final boolean refreshRequired;
+
+    public NewPostsResponse(long newCount, List<Long> postIds, boolean refreshRequired) {
+        this.newCount = newCount;
+        this.postIds = postIds;
+        this.refreshRequired = refreshRequired;
+    }
+}
@@ -44,4 +44,10 @@ public class PostDTO implements Serializable {
         this.updatedAt = updatedAt;
         this.user = user;
     }
+
+    // JPQL 생성자 표현식(SELECT new ...)용 -> 엔티티를 로딩하지 않고 바로 DTO 로 조회
+    public PostDTO(Long id, String caption, LocalDateTime createdAt, LocalDateTime updatedAt,
+                   Long userId, String userName, String email) {
+        this(id, caption, createdAt, updatedAt, new UserDTO(userId, userName, email));
+    }
 }
@@ -4,11 +4,21 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Follower")
+@Table(name = "Follower", indexes = {
+        // 특정 사용자의 팔로워 목록 조회용
+        @Index(name = "idx_follower_following_follower", columnList = "following_id, follower_id")
+}, uniqueConstraints = {
+        // 특정 사용자의 팔로잉 목록 조회용 + 중복 팔로우 방지
+        @UniqueConstraint(name = "uk_follower_follower_following", columnNames = {"follower_id", "following_id"})
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "follower") // Hibernate 2차 캐시 (hibernate-cache.conf)
 @Getter @Setter
 public class Follower {
 
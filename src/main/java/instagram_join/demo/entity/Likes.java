@@ -8,7 +8,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Likes")
+@Table(name = "Likes", uniqueConstraints = {
+        // 사용자별 좋아요 목록 조회용 + 같은 게시글 중복 좋아요 방지
+        @UniqueConstraint(name = "uk_likes_user_post", columnNames = {"user_id", "post_id"})
+})
 @Getter
 @Setter
 public class Likes {
@@ -12,7 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "Post")
+@Table(name = "Post", indexes = {
+        // 작성자별 최신 게시글 조회용 (뉴스피드, 타임라인, 프로필)
+        @Index(name = "idx_post_user_created", columnList = "user_id, created_at")
+})
 @Getter @Setter
 
 @JsonIgnoreProperties(ignoreUnknown = true)
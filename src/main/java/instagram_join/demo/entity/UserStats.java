@@ -0,0 +1,44 @@
+package instagram_join.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+// 사용자별 팔로워/팔로잉/게시글 수를 미리 계산해 저장하는 테이블
+// 팔로우/언팔로우, 게시글 작성/삭제 시 증감되며, 조회 시 COUNT(*) 를 실행하지 않는다
+// 누적된 오차는 UserStatsReconciler 가 주기적으로 보정한다
+@Entity
+@Table(name = "UserStats")
+@Getter @Setter
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "follower_count", nullable = false)
+    private long followerCount;
+
+    @Column(name = "following_count", nullable = false)
+    private long followingCount;
+
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+
+    public UserStats() {
+    }
+
+    public UserStats(Long userId) {
+        this.userId = userId;
+    }
+
+    @Override
+    public String toString() {
+        return "UserStats{" +
+                "userId=" + userId +
+                ", followerCount=" + followerCount +
+                ", followingCount=" + followingCount +
+                ", postCount=" + postCount +
+                '}';
+    }
+}
@@ -1,30 +1,41 @@
 package instagram_join.demo.rest;
 
-import instagram_join.demo.dao.UserDAO;
+import instagram_join.demo.dto.CursorPage;
+import instagram_join.demo.dto.FollowPage;
+import instagram_join.demo.dto.FollowerDTO;
 import instagram_join.demo.dto.FollowerRequest;
 import instagram_join.demo.entity.Follower;
-import instagram_join.demo.entity.User;
 import instagram_join.demo.service.FollowerService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/followers")
 public class FollowerController {
 
-    private final FollowerService followerService;
-    private final UserDAO userDAO;
+    // 한 페이지에서 조회할 수 있는 최대 항목 수
+    @Value("${listing.page.max-size}")
+    private int maxPageSize;
 
-    public FollowerController(FollowerService followerService, UserDAO userDAO) {
+    private final FollowerService followerService;
+    public FollowerController(FollowerService followerService) {
         this.followerService = followerService;
-        this.userDAO = userDAO;
     }
 
-    // get all followers
+    // expose "/followers" and return a page of followers (keyset pagination, ?afterId=&size=)
     @GetMapping
-    public List<Follower> findAll() {
-        return followerService.findAll();
+    public CursorPage<FollowerDTO> findPage(@RequestParam(defaultValue = "0") Long afterId,
+                                            @RequestParam(defaultValue = "${listing.page.default-size}") int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        return CursorPage.of(followerService.findPage(afterId, pageSize), pageSize, FollowerDTO::getId);
+    }
+
+    // export all followers as NDJSON (one JSON object per line, streamed from the DB)
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportAll() {
+        return followerService::exportAll;
     }
 
     // add mapping for GET /followers/{followerId}
@@ -43,21 +54,7 @@ public class FollowerController {
     // update existing follower
     @PutMapping("/{followerId}")
     public Follower updateFollower(@PathVariable Long followerId, @RequestBody FollowerRequest request) {
-
-        return followerService.findById(followerId)
-                .map(existingFollower -> {
-
-                    User newFollower = userDAO.findById(request.getFollowerId())
-                            .orElseThrow(() -> new RuntimeException("Follower not found: " + request.getFollowerId()));
-                    User newFollowing = userDAO.findById(request.getFollowingId())
-                            .orElseThrow(() -> new RuntimeException("Following not found: " + request.getFollowingId()));
-
-                    existingFollower.setFollower(newFollower);
-                    existingFollower.setFollowing(newFollowing);
-
-                    return followerService.save(existingFollower);
-                })
-                .orElseThrow(() -> new RuntimeException("Follower id not found: " + followerId));
+        return followerService.updateFollower(followerId, request.getFollowerId(), request.getFollowingId());
     }
 
     // Delete a follower
@@ -66,15 +63,21 @@ public class FollowerController {
         followerService.deleteById(followerId);
     }
 
-    // Get followers of a specific user
+    // Get followers of a specific user (ids + optional user names, keyset pagination)
     @GetMapping("/user/{userId}/followers")
-    public List<Follower> getFollowers(@PathVariable Long userId) {
-        return followerService.findFollowers(userId);
+    public FollowPage getFollowers(@PathVariable Long userId,
+                                   @RequestParam(defaultValue = "0") Long afterId,
+                                   @RequestParam(defaultValue = "${listing.page.default-size}") int size,
+                                   @RequestParam(defaultValue = "true") boolean includeNames) {
+        return followerService.findFollowers(userId, afterId, Math.max(1, Math.min(size, maxPageSize)), includeNames);
     }
 
-    // Get following users of a specific user
+    // Get following users of a specific user (ids + optional user names, keyset pagination)
     @GetMapping("/user/{userId}/following")
-    public List<Follower> getFollowing(@PathVariable Long userId) {
-        return followerService.findFollowingUsers(userId);
+    public FollowPage getFollowing(@PathVariable Long userId,
+                                   @RequestParam(defaultValue = "0") Long afterId,
+                                   @RequestParam(defaultValue = "${listing.page.default-size}") int size,
+                                   @RequestParam(defaultValue = "true") boolean includeNames) {
+        return followerService.findFollowingUsers(userId, afterId, Math.max(1, Math.min(size, maxPageSize)), includeNames);
     }
 }
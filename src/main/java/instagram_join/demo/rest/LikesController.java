@@ -1,5 +1,6 @@
 package instagram_join.demo.rest;
 
+import instagram_join.demo.config.RateLimited;
 import instagram_join.demo.dto.LikesRequest;
 import instagram_join.demo.entity.Likes;
 import instagram_join.demo.entity.Post;
@@ -25,6 +26,7 @@ public class LikesController {
     }
 
     @PostMapping
+    @RateLimited("like") // 사용자별 요청 수 제한 (rate-limit.like.*)
     public Likes addLike(@RequestBody LikesRequest request) {
 
         User user = new User(request.getUserId());
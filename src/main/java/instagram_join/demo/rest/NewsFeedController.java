@@ -1,14 +1,30 @@
 package instagram_join.demo.rest;
 
+import instagram_join.demo.config.RateLimited;
+import instagram_join.demo.config.RedisCircuitBreaker;
+import instagram_join.demo.dto.NewPostsResponse;
 import instagram_join.demo.dto.NewsFeedResponse;
 import instagram_join.demo.dto.PostDTO;
+import instagram_join.demo.service.FeedEventService;
+import instagram_join.demo.service.NewsFeedPageCache;
 import instagram_join.demo.service.NewsFeedService;
+import instagram_join.demo.service.ReactiveNewsFeedService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/newsFeed")
@@ -18,29 +34,123 @@ public class NewsFeedController {
     @Value("${newsFeed.page.default-size}")
     private int defaultPageSize;
 
+    // 새 게시물 ID 목록을 함께 반환할 때의 최대 개수
+    @Value("${newsFeed.max-size}")
+    private int feedMaxSize;
+
     @Autowired
     private final NewsFeedService newsFeedService;
 
-    public NewsFeedController(NewsFeedService newsFeedService) {
+    private final NewsFeedPageCache newsFeedPageCache;
+
+    private final FeedEventService feedEventService;
+
+    private final ReactiveNewsFeedService reactiveNewsFeedService;
+
+    private final RedisCircuitBreaker redisCircuitBreaker;
+
+    public NewsFeedController(NewsFeedService newsFeedService, NewsFeedPageCache newsFeedPageCache,
+                              FeedEventService feedEventService, ReactiveNewsFeedService reactiveNewsFeedService,
+                              RedisCircuitBreaker redisCircuitBreaker) {
         this.newsFeedService = newsFeedService;
+        this.newsFeedPageCache = newsFeedPageCache;
+        this.feedEventService = feedEventService;
+        this.reactiveNewsFeedService = reactiveNewsFeedService;
+        this.redisCircuitBreaker = redisCircuitBreaker;
     }
 
     // Get newsFeed
+    // 피드 버전으로 만든 ETag 를 함께 반환하고, If-None-Match 가 일치하면 304 (Redis 버전 조회만 수행, DB 접근 없음)
+    // 첫 페이지는 직렬화된 JSON 을 캐시하여 그대로 응답
+    // Redis 장애 중에는 ETag / 페이지 캐시 없이 대체 경로(로컬 캐시 + DB)로 조회
     @GetMapping("/{userId}")
-    public NewsFeedResponse getNewsFeed(@PathVariable Long userId,
+    @RateLimited("feed") // 클라이언트별 요청 수 제한 (rate-limit.feed.*)
+    public ResponseEntity<byte[]> getNewsFeed(@PathVariable Long userId,
                                         @RequestParam(defaultValue = "0") int page,
-                                        @RequestParam(defaultValue = "${newsFeed.page.default-size}") int size) {
+                                        @RequestParam(defaultValue = "${newsFeed.page.default-size}") int size,
+                                        WebRequest webRequest, HttpServletResponse response) {
         // @PathVariable: URL 경로에서 userId를 변수로 받아옴
         // @RequestParam: 쿼리 매개변수 -> page & size 설정
+        return redisCircuitBreaker.execute(
+                () -> getCachedNewsFeed(userId, page, size, webRequest, response),
+                () -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(newsFeedPageCache.renderUncached(() -> toResponse(
+                                newsFeedService.getDegradedNewsFeed(userId, PageRequest.of(page, size))))));
+    }
+
+    private ResponseEntity<byte[]> getCachedNewsFeed(Long userId, int page, int size,
+                                                     WebRequest webRequest, HttpServletResponse response) {
+        // 피드를 조회하기 전에 버전을 읽음
+        // -> 조회 도중 피드가 바뀌면 다음 요청의 ETag 가 달라지므로 오래된 내용이 304 로 고정되지 않음
+        String version = newsFeedService.getFeedVersion(userId);
+        String eTag = version + "-" + page + "-" + size;
+
+        // 클라이언트가 ETag 로 재검증할 수 있도록 설정 (Spring Security 의 기본 no-store 대신)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 Not Modified
+        }
+
+        byte[] body = newsFeedPageCache.render(userId, version, page, size, () -> {
+            // 요청한 페이지 번호와 크기에 따라 페이징 처리를 할 수 있음
+            Pageable pageable = PageRequest.of(page, size);
 
-        // 요청한 페이지 번호와 크기에 따라 페이징 처리를 할 수 있음
-        Pageable pageable = PageRequest.of(page, size);
+            // 가져온 게시글 Id 리스트를 사용해 PostDTO 를 페이징 처리
+            Page<PostDTO> postDTOPage = newsFeedService.getNewsFeed(userId, pageable);
 
-        // 가져온 게시글 Id 리스트를 사용해 PostDTO 를 페이징 처리
-        Page<PostDTO> postDTOPage = newsFeedService.getNewsFeed(userId, pageable);
+            // NewsFeedResponse 객체를 생성
+            return toResponse(postDTOPage);
+        });
 
-        // NewsFeedResponse 객체를 생성하여 반환
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private static NewsFeedResponse toResponse(Page<PostDTO> postDTOPage) {
         return new NewsFeedResponse(postDTOPage.getContent(), postDTOPage.getNumber(),
                 postDTOPage.getSize(), postDTOPage.getTotalElements());
     }
+
+    // Get newsFeed (non-blocking)
+    // Mono 를 반환하면 Spring MVC 가 비동기 요청으로 처리 -> Redis 응답과 DB 조회를 기다리는 동안 요청 스레드를 반환
+    // 같은 조건에서 /newsFeed/{userId} 와 지연 시간을 비교할 수 있도록 응답 형식은 동일 (ETag / 페이지 캐시 없음)
+    @GetMapping("/{userId}/reactive")
+    @RateLimited("feed")
+    public Mono<NewsFeedResponse> getNewsFeedReactive(@PathVariable Long userId,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "${newsFeed.page.default-size}") int size) {
+        return reactiveNewsFeedService.getNewsFeed(userId, PageRequest.of(page, size))
+                .map(postDTOPage -> new NewsFeedResponse(postDTOPage.getContent(), postDTOPage.getNumber(),
+                        postDTOPage.getSize(), postDTOPage.getTotalElements()));
+    }
+
+    // Count feed entries newer than the newest one the client has seen (?sinceScore= or ?sincePostId=)
+    // 뉴스피드 ZSET 만 조회 (ZCOUNT / ZREVRANK), DB 접근 없음
+    @GetMapping("/{userId}/new")
+    @RateLimited("feed-poll") // 피드 조회보다 가벼운 polling -> 별도 제한 (rate-limit.feed-poll.*)
+    public NewPostsResponse getNewPosts(@PathVariable Long userId,
+                                        @RequestParam(required = false) Double sinceScore,
+                                        @RequestParam(required = false) Long sincePostId,
+                                        @RequestParam(defaultValue = "false") boolean includeIds,
+                                        @RequestParam(defaultValue = "${newsFeed.page.default-size}") int limit) {
+        if ((sinceScore == null) == (sincePostId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exactly one of sinceScore or sincePostId is required");
+        }
+        return newsFeedService.getNewPosts(userId, sinceScore, sincePostId, includeIds,
+                Math.max(1, Math.min(limit, feedMaxSize)));
+    }
+
+    // Stream feed updates as Server-Sent Events
+    // - event "post": 게시물이 피드에 추가됨 ({"postId", "score"}) -> /new 또는 첫 페이지로 반영
+    // - event "resync": 전송이 밀려 일부 알림을 버림 -> 첫 페이지를 다시 조회
+    // - 주기적으로 heartbeat 주석 전송
+    // - 연결이 오래 유지되는 엔드포인트라 요청 수 제한을 두지 않음 (재연결이 피드 조회 제한을 쓰지 않도록)
+    @GetMapping(value = "/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNewsFeed(@PathVariable Long userId, HttpServletResponse response) {
+        // 프록시(nginx 등)가 응답을 버퍼링하지 않도록 설정
+        response.setHeader("X-Accel-Buffering", "no");
+        return feedEventService.subscribe(userId);
+    }
 }
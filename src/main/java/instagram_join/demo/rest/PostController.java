@@ -1,27 +1,44 @@
 package instagram_join.demo.rest;
 
+import instagram_join.demo.config.RateLimited;
+import instagram_join.demo.dto.CursorPage;
+import instagram_join.demo.dto.PostDTO;
 import instagram_join.demo.dto.PostRequest;
 import instagram_join.demo.entity.Post;
 import instagram_join.demo.service.PostService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @RestController
 @RequestMapping("/posts")
 public class PostController {
 
+    // 한 페이지에서 조회할 수 있는 최대 항목 수
+    @Value("${listing.page.max-size}")
+    private int maxPageSize;
+
     private final PostService postService;
 
     public PostController(PostService postService) {
         this.postService = postService;
     }
 
-    // expose "/posts" and return a list of getPost
+    // expose "/posts" and return a page of posts (keyset pagination, ?afterId=&size=)
     @GetMapping
-    public List<Post> findAll() {
-        return postService.findAll();
+    public CursorPage<PostDTO> findPage(@RequestParam(defaultValue = "0") Long afterId,
+                                        @RequestParam(defaultValue = "${listing.page.default-size}") int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        return CursorPage.of(postService.findPage(afterId, pageSize), pageSize, PostDTO::getId);
+    }
+
+    // export all posts as NDJSON (one JSON object per line, streamed from the DB)
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportAll() {
+        return postService::exportAll;
     }
 
     // add mapping for GET /posts/{postId}
@@ -32,7 +49,9 @@ public class PostController {
     }
 
     // add mapping for POST /posts -> add a new post
+    // 사용자별 요청 수 제한 + Fan-out 지연이 크면 일부 거절 (새 게시글마다 Fan-out 작업이 생기므로)
     @PostMapping
+    @RateLimited(value = "post", shedOnFanOutLag = true)
     public Post addPost(@RequestBody PostRequest postRequest) {
 
         Post post = new Post();
@@ -44,7 +63,9 @@ public class PostController {
     }
 
     // Update existing post
+    // 수정도 save -> Fan-out 작업을 다시 등록하므로 작성과 같은 버킷으로 제한
     @PutMapping("/{postId}")
+    @RateLimited(value = "post", shedOnFanOutLag = true)
     public Post updatePost(@PathVariable Long postId, @RequestBody PostRequest postRequest) {
         return postService.findById(postId)
                 .map(existingPost -> {
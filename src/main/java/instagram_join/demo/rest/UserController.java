@@ -1,33 +1,74 @@
 package instagram_join.demo.rest;
 
+import instagram_join.demo.dto.CursorPage;
+import instagram_join.demo.dto.NewsFeedResponse;
+import instagram_join.demo.dto.PostDTO;
+import instagram_join.demo.dto.UserDTO;
 import instagram_join.demo.entity.User;
+import instagram_join.demo.entity.UserStats;
+import instagram_join.demo.service.NewsFeedService;
+import instagram_join.demo.service.PasswordHashingService;
 import instagram_join.demo.service.UserService;
+import instagram_join.demo.service.UserStatsService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+@Slf4j
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
-    private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
+    // 한 페이지에서 조회할 수 있는 최대 항목 수
+    @Value("${listing.page.max-size}")
+    private int maxPageSize;
 
-    public UserController(UserService userService, PasswordEncoder passwordEncoder) {
+    private final UserService userService;
+    private final PasswordHashingService passwordHashingService;
+    private final UserStatsService userStatsService;
+    private final NewsFeedService newsFeedService;
+    // 해싱이 끝난 뒤의 저장(DB) / 세션 작업을 실행하는 MVC 비동기 요청 executor
+    // -> BCrypt 스레드는 해싱만 수행하고 DB I/O 로 점유되지 않도록 함
+    private final AsyncTaskExecutor taskExecutor;
+
+    public UserController(UserService userService, PasswordHashingService passwordHashingService,
+                          UserStatsService userStatsService, NewsFeedService newsFeedService,
+                          @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
         this.userService = userService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.userStatsService = userStatsService;
+        this.newsFeedService = newsFeedService;
+        this.taskExecutor = taskExecutor;
     }
 
-    // expose "/users" and return a list of users
+    // expose "/users" and return a page of users (keyset pagination, ?afterId=&size=)
     @GetMapping
-    public List<User> findAll() {
-        return userService.findAll();
+    public CursorPage<UserDTO> findPage(@RequestParam(defaultValue = "0") Long afterId,
+                                        @RequestParam(defaultValue = "${listing.page.default-size}") int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        return CursorPage.of(userService.findPage(afterId, pageSize), pageSize, UserDTO::getId);
+    }
+
+    // export all users as NDJSON (one JSON object per line, streamed from the DB)
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportAll() {
+        return userService::exportAll;
     }
 
     // add mapping for GET /users/{userId}
@@ -51,32 +92,65 @@ public class UserController {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User id not found"));
     }
 
+    // add mapping for GET /users/{userId}/stats -> follower / following / post counts
+    @GetMapping("/{userId}/stats")
+    public UserStats getUserStats(@PathVariable Long userId) {
+        return userStatsService.getStats(userId);
+    }
+
+    // add mapping for GET /users/{userId}/posts -> posts written by the user, newest first
+    @GetMapping("/{userId}/posts")
+    public NewsFeedResponse getUserPosts(@PathVariable Long userId,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "${newsFeed.page.default-size}") int size) {
+        Pageable pageable = PageRequest.of(page, Math.max(1, Math.min(size, maxPageSize)));
+        Page<PostDTO> postDTOPage = newsFeedService.getUserPosts(userId, pageable);
+        return new NewsFeedResponse(postDTOPage.getContent(), postDTOPage.getNumber(),
+                postDTOPage.getSize(), postDTOPage.getTotalElements());
+    }
+
     // add mapping for POST /users - signup
+    // 비밀번호 해싱은 전용 스레드 풀에서 수행되고, 요청 스레드는 바로 반환된다 (비동기 응답)
+    // 해싱 결과를 받은 뒤의 저장은 MVC 비동기 executor 에서 실행
     @PostMapping("/signup")
-    public User addUser(@RequestBody User theUser) {
-        try {
-            return userService.save(theUser);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to signup");
-        }
+    public CompletableFuture<User> addUser(@RequestBody User theUser) {
+        return passwordHashingService.encode(theUser.getPassword())
+                .thenApplyAsync(encodedPassword -> {
+                    theUser.setPassword(encodedPassword);
+                    return userService.save(theUser);
+                }, taskExecutor)
+                .exceptionally(e -> {
+                    // 원인을 유지한 채 응답 상태로 변환 (사용자 이름 / 이메일 중복은 409)
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof DataIntegrityViolationException) {
+                        throw new ResponseStatusException(HttpStatus.CONFLICT, "User name or email already exists", cause);
+                    }
+                    log.error("Failed to signup: {}", theUser.getEmail(), cause);
+                    throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to signup", cause);
+                });
     }
 
     // add mapping for POST /users - login
+    // 세션은 요청 스레드에서 생성 (HttpServletRequest 는 요청 스레드 밖에서 사용하지 않음)
+    // -> 비동기 단계에서는 세션 속성만 설정
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody User loginUser, HttpServletRequest request) {
+    public CompletableFuture<ResponseEntity<String>> login(@RequestBody User loginUser, HttpServletRequest request) {
         User user = userService.findByEmail(loginUser.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid Email or password"));
+        HttpSession session = request.getSession();
 
-        if (!passwordEncoder.matches(loginUser.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid password");
-        }
+        return passwordHashingService.matches(loginUser.getPassword(), user.getPassword())
+                .thenApplyAsync(matched -> {
+                    if (!matched) {
+                        throw new RuntimeException("Invalid password");
+                    }
 
-        HttpSession session = request.getSession();
-        // 세션에 사용자 정보 저장
-        session.setAttribute("userId", user.getId());
-        session.setAttribute("userName", user.getUserName());
+                    // 세션에 사용자 정보 저장
+                    session.setAttribute("userId", user.getId());
+                    session.setAttribute("userName", user.getUserName());
 
-        return ResponseEntity.ok("Logged in successfully");
+                    return ResponseEntity.ok("Logged in successfully");
+                }, taskExecutor);
     }
 
     // add mapping for POST /users - logout
@@ -91,15 +165,15 @@ public class UserController {
 
     // Update existing user
     @PutMapping("/{userId}")
-    public User updateUser(@PathVariable Long userId, @RequestBody User theUser) {
-        return userService.findById(userId)
-                .map(existingUser -> {
-                    existingUser.setUserName(theUser.getUserName());
-                    existingUser.setEmail(theUser.getEmail());
-                    existingUser.setPassword(theUser.getPassword());
-                    return userService.save(existingUser);
-                })
-                .orElseThrow(() -> new RuntimeException("User id not found: " + userId));
+    public CompletableFuture<User> updateUser(@PathVariable Long userId, @RequestBody User theUser) {
+        // 없는 사용자면 해싱 전에 거절 (캐시에서 꺼낸 인스턴스는 수정하지 않음)
+        if (userService.findById(userId).isEmpty()) {
+            throw new RuntimeException("User id not found: " + userId);
+        }
+
+        return passwordHashingService.encode(theUser.getPassword())
+                .thenApplyAsync(encodedPassword -> userService.update(userId, theUser.getUserName(),
+                        theUser.getEmail(), encodedPassword), taskExecutor);
     }
 
     // Delete a user
@@ -0,0 +1,238 @@
+package instagram_join.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroup;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroups;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoStream;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Fan-out 파이프라인 메트릭 (Micrometer) + /actuator/fanout
+// - 스트림 상태 (주기적으로 XINFO STREAM / XINFO GROUPS 조회): 스트림 길이, pending 개수, 컨슈머 lag (개수 / 시간)
+// - 처리량: 처리한 레코드 수, 피드 쓰기(ZADD) 수 -> 초당 처리량은 샘플링 주기마다 계산
+// - 단계별 처리 시간: 게시물 조회, 팔로워 조회, 피드 쓰기, 알림, ACK
+// - 게시물 노출 지연: 스트림 레코드 ID 의 시각(XADD 시점)부터 모든 피드에 추가될 때까지
+@Slf4j
+@Component
+@Endpoint(id = "fanout")
+public class FanOutMetrics {
+
+    // Fan-out 처리 단계
+    public enum Stage {
+        POST_LOOKUP("post_lookup"),
+        FOLLOWER_LOOKUP("follower_lookup"),
+        FEED_WRITE("feed_write"),
+        NOTIFY("notify"),
+        ACK("ack");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Timer visibilityTimer;
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final Counter feedWriteCounter;
+
+    // 마지막 샘플링 결과 (게이지와 엔드포인트가 읽음)
+    private volatile StreamSnapshot snapshot = StreamSnapshot.EMPTY;
+
+    public FanOutMetrics(StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("fanout.stage")
+                    .description("Time spent in each fan-out stage per stream record")
+                    .tag("stage", stage.tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+        }
+        this.visibilityTimer = Timer.builder("fanout.visibility")
+                .description("Time from the stream record (post enqueue) until the post is in every feed")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.processedCounter = Counter.builder("fanout.records")
+                .description("Fan-out stream records processed")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("fanout.records")
+                .description("Fan-out stream records processed")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.feedWriteCounter = Counter.builder("fanout.feed.writes")
+                .description("News feed entries written by fan-out (one ZADD per feed)")
+                .register(meterRegistry);
+
+        Gauge.builder("fanout.stream.length", this, m -> m.snapshot.streamLength)
+                .description("Entries in the fan-out stream")
+                .register(meterRegistry);
+        Gauge.builder("fanout.stream.pending", this, m -> m.snapshot.pending)
+                .description("Entries delivered to the consumer group but not acknowledged")
+                .register(meterRegistry);
+        Gauge.builder("fanout.consumer.lag", this, m -> m.snapshot.lag)
+                .description("Entries not yet delivered to the consumer group (Redis 7+)")
+                .register(meterRegistry);
+        Gauge.builder("fanout.consumer.lag.time", this, m -> m.snapshot.lagMillis)
+                .description("Time between the newest entry and the last entry delivered to the consumer group")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("fanout.records.rate", this, m -> m.snapshot.recordsPerSecond)
+                .description("Fan-out records processed per second over the last sampling interval")
+                .register(meterRegistry);
+        Gauge.builder("fanout.feed.writes.rate", this, m -> m.snapshot.feedWritesPerSecond)
+                .description("Feed writes per second over the last sampling interval")
+                .register(meterRegistry);
+    }
+
+    public <T> T time(Stage stage, Supplier<T> work) {
+        return stageTimers.get(stage).record(work);
+    }
+
+    public void run(Stage stage, Runnable work) {
+        stageTimers.get(stage).record(work);
+    }
+
+    public void recordProcessed(boolean success) {
+        (success ? processedCounter : failedCounter).increment();
+    }
+
+    public void recordFeedWrites(int feeds) {
+        feedWriteCounter.increment(feeds);
+    }
+
+    // 레코드 ID 의 앞부분은 XADD 시각(ms)
+    public void recordVisible(RecordId recordId) {
+        long latency = System.currentTimeMillis() - recordId.getTimestamp();
+        visibilityTimer.record(Math.max(0, latency), TimeUnit.MILLISECONDS);
+    }
+
+    // 마지막 샘플링 시점의 컨슈머 지연 시간 (부하 차단 판단에 사용)
+    public double getConsumerLagMillis() {
+        return snapshot.lagMillis;
+    }
+
+    // 스트림 상태 샘플링 + 초당 처리량 계산
+    @Scheduled(fixedDelayString = "${fanout.metrics.sample-interval}")
+    public void sample() {
+        StreamSnapshot previous = snapshot;
+        long now = System.currentTimeMillis();
+        double processed = processedCounter.count() + failedCounter.count();
+        double feedWrites = feedWriteCounter.count();
+        double seconds = previous.sampledAt == 0 ? 0 : (now - previous.sampledAt) / 1000.0;
+
+        StreamSnapshot next = new StreamSnapshot();
+        next.sampledAt = now;
+        next.processed = processed;
+        next.feedWrites = feedWrites;
+        next.recordsPerSecond = seconds > 0 ? (processed - previous.processed) / seconds : 0;
+        next.feedWritesPerSecond = seconds > 0 ? (feedWrites - previous.feedWrites) / seconds : 0;
+
+        try {
+            XInfoStream stream = stringRedisTemplate.opsForStream().info(NewsFeedService.FANOUT_STREAM_KEY);
+            next.streamLength = stream.streamLength();
+
+            XInfoGroups groups = stringRedisTemplate.opsForStream().groups(NewsFeedService.FANOUT_STREAM_KEY);
+            XInfoGroup group = groups.stream()
+                    .filter(g -> NewsFeedService.CONSUMER_GROUP.equals(g.groupName()))
+                    .findFirst()
+                    .orElse(null);
+            if (group != null) {
+                next.pending = group.pendingCount();
+                // XINFO GROUPS 의 lag 필드는 Redis 7 부터 제공
+                Object lag = group.getRaw().get("lag");
+                next.lag = lag instanceof Number number ? number.doubleValue() : Double.NaN;
+                next.lagMillis = Math.max(0, RecordId.of(stream.lastGeneratedId()).getTimestamp()
+                        - RecordId.of(group.lastDeliveredId()).getTimestamp());
+            }
+        } catch (Exception e) {
+            // 스트림이 아직 없거나 Redis 에 연결할 수 없는 경우 -> 처리량만 갱신
+            log.debug("Failed to sample fan-out stream: {}", e.getMessage());
+        }
+        snapshot = next;
+    }
+
+    // GET /actuator/fanout
+    @ReadOperation
+    public Map<String, Object> fanOut() {
+        StreamSnapshot current = snapshot;
+        Map<String, Object> stream = new LinkedHashMap<>();
+        stream.put("length", current.streamLength);
+        stream.put("pending", current.pending);
+        stream.put("lag", Double.isNaN(current.lag) ? null : (long) current.lag);
+        stream.put("lagMillis", current.lagMillis);
+
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("recordsProcessed", (long) processedCounter.count());
+        throughput.put("recordsFailed", (long) failedCounter.count());
+        throughput.put("feedWrites", (long) feedWriteCounter.count());
+        throughput.put("recordsPerSecond", current.recordsPerSecond);
+        throughput.put("feedWritesPerSecond", current.feedWritesPerSecond);
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        stageTimers.forEach((stage, timer) -> stages.put(stage.tag, summarize(timer)));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stream", stream);
+        result.put("throughput", throughput);
+        result.put("stages", stages);
+        result.put("visibility", summarize(visibilityTimer));
+        result.put("sampledAt", current.sampledAt);
+        return result;
+    }
+
+    private static Map<String, Object> summarize(Timer timer) {
+        HistogramSnapshot histogram = timer.takeSnapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.count());
+        summary.put("meanMs", histogram.mean(TimeUnit.MILLISECONDS));
+        summary.put("maxMs", histogram.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : histogram.percentileValues()) {
+            summary.put("p" + format(percentile.percentile()) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return summary;
+    }
+
+    // 0.5 -> 50, 0.999 -> 99.9
+    private static String format(double percentile) {
+        return BigDecimal.valueOf(percentile).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private static final class StreamSnapshot {
+
+        private static final StreamSnapshot EMPTY = new StreamSnapshot();
+
+        private long sampledAt;
+        private double processed;
+        private double feedWrites;
+        private double recordsPerSecond;
+        private double feedWritesPerSecond;
+        private double streamLength;
+        private double pending;
+        private double lag = Double.NaN;
+        private double lagMillis;
+    }
+}
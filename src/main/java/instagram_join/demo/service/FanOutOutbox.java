@@ -0,0 +1,157 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.config.RedisCircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Redis 장애 중에 등록하지 못한 Fan-out 작업을 보관하는 로컬 파일 큐 (노드별)
+// - 한 줄에 작업 하나: {postId}:{userId}:{timestamp}, 기록할 때마다 디스크에 동기화 -> 재시작해도 유지
+// - Redis 가 복구되면(서킷 closed) 주기적으로 Fan-out 스트림에 다시 등록
+// - 재등록 도중 종료되면 일부 작업이 두 번 등록될 수 있음 -> 같은 게시물의 ZADD 는 멱등이므로 결과는 같음
+@Slf4j
+@Component
+public class FanOutOutbox {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+
+    private final Path outboxFile;
+    // 재등록 중인 작업 (outbox 파일을 옮겨서 처리 -> 그 사이 새 작업은 새 outbox 파일에 기록)
+    private final Path replayFile;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    public FanOutOutbox(StringRedisTemplate stringRedisTemplate,
+                        RedisCircuitBreaker redisCircuitBreaker,
+                        MeterRegistry meterRegistry,
+                        @Value("${newsFeed.outbox.path}") String path) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.outboxFile = Path.of(path);
+        this.replayFile = Path.of(path + ".replaying");
+
+        Gauge.builder("fanout.outbox.pending", pending, AtomicLong::get)
+                .description("Fan-out tasks waiting in the local outbox for Redis to recover")
+                .register(meterRegistry);
+    }
+
+    // 이전 실행에서 남은 작업 수
+    @PostConstruct
+    public void initialize() throws IOException {
+        Path parent = outboxFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        long remaining = lineCount(outboxFile) + lineCount(replayFile);
+        pending.set(remaining);
+        if (remaining > 0) {
+            log.warn("{} fan-out tasks left in the local outbox, replaying when Redis is available", remaining);
+        }
+    }
+
+    // 작업 하나를 outbox 파일 끝에 추가하고 디스크에 기록될 때까지 대기
+    public synchronized void append(String postId, String userId, String timestamp) {
+        byte[] line = (postId + ":" + userId + ":" + timestamp + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(outboxFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(line));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write fan-out task to the local outbox", e);
+        }
+        pending.incrementAndGet();
+        log.warn("Fan-out task for PostId {} written to the local outbox", postId);
+    }
+
+    // Redis 가 사용 가능하면 보관된 작업을 스트림에 다시 등록
+    @Scheduled(fixedDelayString = "${newsFeed.outbox.replay-interval}")
+    public void replay() {
+        if (pending.get() == 0 || redisCircuitBreaker.isOpen()) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                // 이전 재등록이 중간에 끝난 경우 그 파일부터 처리
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(outboxFile)) {
+                        pending.set(0);
+                        return;
+                    }
+                    Files.move(outboxFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            List<String> lines = Files.readAllLines(replayFile, StandardCharsets.UTF_8);
+            int next = 0;
+            int replayed = 0;
+            try {
+                for (; next < lines.size(); next++) {
+                    String line = lines.get(next);
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    String[] fields = line.split(":");
+                    stringRedisTemplate.opsForStream().add(StreamRecords.newRecord()
+                            .in(NewsFeedService.FANOUT_STREAM_KEY)
+                            .ofMap(Map.of("postId", fields[0], "userId", fields[1], "timestamp", fields[2])));
+                    replayed++;
+                    pending.decrementAndGet();
+                }
+                redisCircuitBreaker.recordSuccess();
+            } catch (RuntimeException e) {
+                if (!RedisCircuitBreaker.isRedisFailure(e)) {
+                    throw e;
+                }
+                redisCircuitBreaker.recordFailure(e);
+                // 등록하지 못한 작업은 outbox 로 되돌림
+                requeue(lines.subList(next, lines.size()));
+            }
+            Files.delete(replayFile);
+            log.info("Replayed {} fan-out tasks from the local outbox", replayed);
+        } catch (IOException e) {
+            log.error("Failed to replay the local fan-out outbox", e);
+        }
+    }
+
+    private synchronized void requeue(List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        lines.forEach(line -> content.append(line).append('\n'));
+        try (FileChannel channel = FileChannel.open(outboxFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        }
+    }
+
+    private static long lineCount(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank()).count();
+        }
+    }
+}
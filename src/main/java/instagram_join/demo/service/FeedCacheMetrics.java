@@ -0,0 +1,154 @@
+package instagram_join.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 뉴스피드 캐시 효율 메트릭 + /actuator/feedcache
+// - newsfeed.cache{result, reason}: hit / miss(캐시 없음) / rebuild(캐시 검증 실패) / beyond_cache(캐시 범위를 넘는 페이지)
+// - newsfeed.hydration{source}: 게시물 ID -> PostDTO 조회 시간, newsfeed.rebuild{reason}: 피드 재생성 시간
+// - 사용자별 진단: 피드 크기, TTL, 최신/가장 오래된 score, 마지막 재생성 이유
+@Component
+@Endpoint(id = "feedcache")
+public class FeedCacheMetrics {
+
+    // 캐시를 다시 만드는 이유
+    public static final String REASON_EMPTY = "empty";                  // 캐시가 없거나 비어 있음
+    public static final String REASON_STALE = "stale";                  // DB 의 최신 게시물이 캐시에 없음
+    public static final String REASON_CHECK_FAILED = "check_failed";    // 캐시 검증 중 오류
+    public static final String REASON_CURSOR_DELETED = "cursor_deleted"; // 캐시의 가장 오래된 게시물이 삭제됨
+
+    // 사용자별 마지막 재생성 정보 (Hash: reason, at, durationMs) -> newsfeed:* 패턴에 포함되지 않도록 다른 접두사
+    private static final String LAST_REBUILD_KEY_PREFIX = "feedrebuild:";
+    private static final long LAST_REBUILD_TTL_HOURS = 24;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public FeedCacheMetrics(RedisTemplate<String, Object> redisTemplate,
+                            StringRedisTemplate stringRedisTemplate,
+                            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordHit() {
+        counter("hit", "none").increment();
+    }
+
+    public void recordBeyondCache() {
+        counter("beyond_cache", "none").increment();
+    }
+
+    // 캐시가 없으면 miss, 캐시가 있지만 쓸 수 없으면 rebuild
+    public void recordRefresh(String reason) {
+        counter(REASON_EMPTY.equals(reason) ? "miss" : "rebuild", reason).increment();
+    }
+
+    public <T> T timeHydration(String source, Supplier<T> work) {
+        return Timer.builder("newsfeed.hydration")
+                .description("Time to load and convert the posts of one feed page")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(work);
+    }
+
+    // 피드 재생성 시간 기록 + 사용자별 마지막 재생성 정보 저장
+    public <T> T timeRebuild(Long userId, String reason, Supplier<T> work) {
+        long start = System.nanoTime();
+        T result = Timer.builder("newsfeed.rebuild")
+                .description("Time to rebuild a news feed from author timelines")
+                .tag("reason", reason)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(work);
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        String key = LAST_REBUILD_KEY_PREFIX + userId;
+        stringRedisTemplate.opsForHash().putAll(key, Map.of(
+                "reason", reason,
+                "at", String.valueOf(System.currentTimeMillis()),
+                "durationMs", String.valueOf(durationMs)));
+        stringRedisTemplate.expire(key, LAST_REBUILD_TTL_HOURS, TimeUnit.HOURS);
+        return result;
+    }
+
+    // GET /actuator/feedcache -> 결과 / 이유별 요청 수와 적중률
+    @ReadOperation
+    public Map<String, Object> summary() {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        double total = 0;
+        double hits = 0;
+        for (Counter counter : meterRegistry.find("newsfeed.cache").counters()) {
+            String result = counter.getId().getTag("result");
+            String reason = counter.getId().getTag("reason");
+            counts.put("none".equals(reason) ? result : result + ":" + reason, (long) counter.count());
+            total += counter.count();
+            if ("hit".equals(result)) {
+                hits += counter.count();
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", (long) total);
+        summary.put("hitRatio", total == 0 ? null : hits / total);
+        summary.put("counts", counts);
+        return summary;
+    }
+
+    // GET /actuator/feedcache/{userId} -> 사용자 피드 캐시 상태
+    @ReadOperation
+    public Map<String, Object> user(@Selector Long userId) {
+        String newsFeedKey = NewsFeedService.NEWS_FEED_KEY_PREFIX + userId;
+        Long size = redisTemplate.opsForZSet().size(newsFeedKey);
+        Long ttl = redisTemplate.getExpire(newsFeedKey, TimeUnit.SECONDS);
+
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("userId", userId);
+        diagnostics.put("cached", size != null && size > 0);
+        diagnostics.put("size", size);
+        // -2: 키 없음, -1: 만료 시간 없음
+        diagnostics.put("ttlSeconds", ttl);
+        diagnostics.put("newest", entry(redisTemplate.opsForZSet().reverseRangeWithScores(newsFeedKey, 0, 0)));
+        diagnostics.put("oldest", entry(redisTemplate.opsForZSet().rangeWithScores(newsFeedKey, 0, 0)));
+
+        Map<Object, Object> lastRebuild = stringRedisTemplate.opsForHash().entries(LAST_REBUILD_KEY_PREFIX + userId);
+        diagnostics.put("lastRebuild", lastRebuild.isEmpty() ? null : lastRebuild);
+        return diagnostics;
+    }
+
+    private Counter counter(String result, String reason) {
+        return Counter.builder("newsfeed.cache")
+                .description("News feed requests by cache outcome")
+                .tag("result", result)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Map<String, Object> entry(Set<TypedTuple<Object>> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return null;
+        }
+        TypedTuple<Object> entry = entries.iterator().next();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("postId", Long.parseLong((String) entry.getValue()));
+        result.put("score", entry.getScore());
+        return result;
+    }
+}
@@ -0,0 +1,246 @@
+package instagram_join.demo.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// 뉴스피드 실시간 알림 (Server-Sent Events)
+// - 연결은 비동기 서블릿(SseEmitter)으로 유지 -> 대기 중인 연결은 스레드를 점유하지 않음
+// - 팬아웃이 게시물을 피드에 추가하면 접속 중인 사용자 ID 만 골라 Redis Pub/Sub 으로 모든 노드에 알림
+// - 연결별로 크기가 제한된 큐를 두고 소수의 전송 스레드가 비움 -> 느린 클라이언트는 이벤트를 버리고 resync 이벤트로 알림
+@Slf4j
+@Service
+public class FeedEventService implements MessageListener {
+
+    public static final String EVENTS_CHANNEL = "feed:events";
+    // - 메시지 형식: {postId}:{score}:{userId},{userId},...
+
+    private static final String ONLINE_USERS_KEY = "feed:online";
+    // - 접속 중인 사용자 (Sorted Set, score: 마지막 heartbeat 시각 ms)
+    // - 연결이 끊겨도 바로 제거하지 않음 (다른 노드에 같은 사용자의 연결이 있을 수 있음) -> heartbeat 가 끊기면 만료
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // 사용자 ID -> 이 노드에 연결된 구독 목록
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    // 이벤트 전송 스레드 (연결 수와 관계없이 고정)
+    private final ExecutorService dispatcher;
+
+    // SSE 연결 최대 유지 시간 -> 만료되면 클라이언트(EventSource)가 자동으로 재연결
+    @Value("${feed.events.emitter-timeout}")
+    private Duration emitterTimeout;
+
+    @Value("${feed.events.heartbeat-interval}")
+    private Duration heartbeatInterval;
+
+    // 연결별 대기 이벤트 최대 개수
+    @Value("${feed.events.queue-capacity}")
+    private int queueCapacity;
+
+    public FeedEventService(StringRedisTemplate stringRedisTemplate,
+                            RedisMessageListenerContainer redisMessageListenerContainer,
+                            @Value("${feed.events.dispatch-threads}") int dispatchThreads) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "feed-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void subscribeChannel() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(EVENTS_CHANNEL));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscriptions.values().forEach(subs -> subs.forEach(subscription -> subscription.emitter.complete()));
+    }
+
+    // 사용자의 SSE 구독 시작
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscription subscription = new Subscription(userId, emitter, queueCapacity);
+
+        subscriptions.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(e -> remove(subscription));
+
+        markOnline(List.of(userId));
+
+        // 응답 헤더를 바로 전송하여 연결을 확정
+        enqueue(subscription, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    // 팬아웃에서 호출 -> 게시물이 추가된 피드의 사용자 중 접속 중인 사용자에게만 알림
+    public void publishPostAdded(Long postId, double score, Collection<Long> userIds) {
+        List<Long> onlineUserIds = filterOnline(userIds);
+        if (onlineUserIds.isEmpty()) {
+            return;
+        }
+
+        String message = postId + ":" + (long) score + ":" + onlineUserIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        stringRedisTemplate.convertAndSend(EVENTS_CHANNEL, message);
+    }
+
+    // 다른 노드(또는 이 노드)의 팬아웃이 발행한 알림 수신 -> 이 노드에 연결된 사용자에게만 전달
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 3);
+        if (parts.length != 3) {
+            return;
+        }
+
+        Map<String, Object> data = Map.of("postId", Long.valueOf(parts[0]), "score", Long.valueOf(parts[1]));
+        for (String userId : parts[2].split(",")) {
+            Set<Subscription> subs = subscriptions.get(Long.valueOf(userId));
+            if (subs != null) {
+                subs.forEach(subscription -> enqueue(subscription, SseEmitter.event().name("post").data(data)));
+            }
+        }
+    }
+
+    // 주기적으로 heartbeat 전송 (프록시의 유휴 연결 종료 방지) + 접속 중인 사용자 목록 갱신
+    @Scheduled(fixedDelayString = "${feed.events.heartbeat-interval}")
+    public void heartbeat() {
+        long staleBefore = System.currentTimeMillis() - heartbeatInterval.toMillis() * 3;
+        stringRedisTemplate.opsForZSet().removeRangeByScore(ONLINE_USERS_KEY, 0, staleBefore);
+
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        markOnline(subscriptions.keySet());
+        subscriptions.values().forEach(subs ->
+                subs.forEach(subscription -> enqueue(subscription, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int getConnectionCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void markOnline(Collection<Long> userIds) {
+        double now = System.currentTimeMillis();
+        Set<TypedTuple<String>> entries = userIds.stream()
+                .map(userId -> (TypedTuple<String>) new DefaultTypedTuple<>(userId.toString(), now))
+                .collect(Collectors.toSet());
+        stringRedisTemplate.opsForZSet().add(ONLINE_USERS_KEY, entries);
+    }
+
+    // 접속 중인 사용자만 선택 (ZMSCORE 한 번)
+    private List<Long> filterOnline(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        List<Double> lastSeen = stringRedisTemplate.opsForZSet()
+                .score(ONLINE_USERS_KEY, ids.stream().map(String::valueOf).toArray());
+        if (lastSeen == null) {
+            return List.of();
+        }
+
+        long staleBefore = System.currentTimeMillis() - heartbeatInterval.toMillis() * 3;
+        List<Long> online = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Double seen = lastSeen.get(i);
+            if (seen != null && seen >= staleBefore) {
+                online.add(ids.get(i));
+            }
+        }
+        return online;
+    }
+
+    // 이벤트를 연결의 큐에 추가 -> 큐가 가득 차면 이벤트를 버리고 다음 전송 때 resync 이벤트를 보냄
+    private void enqueue(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        if (!subscription.queue.offer(event)) {
+            subscription.overflowed = true;
+        }
+        scheduleDrain(subscription);
+    }
+
+    // 연결당 동시에 하나의 전송 작업만 실행
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException e) {
+                subscription.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscription.queue.poll()) != null) {
+                subscription.emitter.send(event);
+            }
+            if (subscription.overflowed) {
+                subscription.overflowed = false;
+                // 놓친 이벤트가 있음 -> 클라이언트가 피드 첫 페이지를 다시 조회하도록 알림
+                subscription.emitter.send(SseEmitter.event().name("resync").data("{}"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료
+            remove(subscription);
+            subscription.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscription.draining.set(false);
+        }
+
+        if (!subscription.queue.isEmpty()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.userId, (userId, subs) -> {
+            subs.remove(subscription);
+            return subs.isEmpty() ? null : subs;
+        });
+    }
+
+    // SSE 연결 하나
+    private static final class Subscription {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscription(Long userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package instagram_join.demo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 뉴스피드 hot path 의 구조화된 trace 이벤트 (이벤트 이름 + key/value 필드)
+// - 로거: instagram_join.demo.trace -> logback-spring.xml 의 비동기 appender 가 logs/trace.log 에 기록
+// - 샘플링: sample-rate 확률로 선택하고, 이벤트 종류별로 초당 max-events-per-second 개까지만 기록
+// - 버려진 이벤트 수는 다음에 기록되는 같은 종류의 이벤트에 suppressed 필드로 포함
+@Component
+public class FeedTracer {
+
+    private static final Logger TRACE = LoggerFactory.getLogger("instagram_join.demo.trace");
+
+    private final double sampleRate;
+    private final int maxEventsPerSecond;
+
+    // 이벤트 종류별 초 단위 윈도
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public FeedTracer(@Value("${feed.trace.sample-rate}") double sampleRate,
+                      @Value("${feed.trace.max-events-per-second}") int maxEventsPerSecond) {
+        this.sampleRate = sampleRate;
+        this.maxEventsPerSecond = maxEventsPerSecond;
+    }
+
+    // keyValues: key1, value1, key2, value2, ...
+    public void trace(String event, Object... keyValues) {
+        if (!TRACE.isInfoEnabled()) {
+            return;
+        }
+        Window window = windows.computeIfAbsent(event, e -> new Window());
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            window.suppressed.incrementAndGet();
+            return;
+        }
+        if (!window.tryAcquire(maxEventsPerSecond)) {
+            window.suppressed.incrementAndGet();
+            return;
+        }
+
+        LoggingEventBuilder builder = TRACE.atInfo().setMessage(event);
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            builder.addKeyValue(String.valueOf(keyValues[i]), keyValues[i + 1]);
+        }
+        long suppressed = window.suppressed.getAndSet(0);
+        if (suppressed > 0) {
+            builder.addKeyValue("suppressed", suppressed);
+        }
+        builder.log();
+    }
+
+    private static final class Window {
+
+        private volatile long second;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        // 초가 바뀌면 카운트 초기화 (경계에서 몇 개 더 기록되는 것은 허용)
+        private boolean tryAcquire(int limit) {
+            long now = System.currentTimeMillis() / 1000;
+            if (now != second) {
+                second = now;
+                count.set(0);
+            }
+            return count.incrementAndGet() <= limit;
+        }
+    }
+}
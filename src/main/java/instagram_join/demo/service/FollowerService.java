@@ -1,13 +1,19 @@
 package instagram_join.demo.service;
 
+import instagram_join.demo.dto.FollowPage;
+import instagram_join.demo.dto.FollowerDTO;
 import instagram_join.demo.entity.Follower;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 public interface FollowerService {
 
-    List<Follower> findAll();
+    List<FollowerDTO> findPage(Long afterId, int size);
+
+    void exportAll(OutputStream out) throws IOException;
 
     Optional<Follower> findById(Long followerId);
 
@@ -15,10 +21,10 @@ public interface FollowerService {
 
     Follower followUser(Long followerId, Long followingId);
 
-    List<Follower> findFollowers(Long userId);
+    Follower updateFollower(Long id, Long followerId, Long followingId);
 
-    List<Follower> findFollowingUsers(Long userId);
+    FollowPage findFollowers(Long userId, Long afterId, int size, boolean includeNames);
 
-    Follower save(Follower existingFollower);
+    FollowPage findFollowingUsers(Long userId, Long afterId, int size, boolean includeNames);
 
 }
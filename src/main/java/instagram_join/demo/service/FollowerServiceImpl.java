@@ -1,26 +1,55 @@
 package instagram_join.demo.service;
 
 import instagram_join.demo.dao.FollowerDAO;
+import instagram_join.demo.dao.UserDAO;
+import instagram_join.demo.dto.FollowPage;
+import instagram_join.demo.dto.FollowUserDTO;
+import instagram_join.demo.dto.FollowerDTO;
 import instagram_join.demo.entity.Follower;
 import instagram_join.demo.entity.User;
-import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class FollowerServiceImpl implements FollowerService {
 
     private final FollowerDAO followerDAO;
+    private final UserDAO userDAO;
+    private final UserStatsService userStatsService;
+    private final NewsFeedService newsFeedService;
+    private final NdjsonWriter ndjsonWriter;
 
-    public FollowerServiceImpl(FollowerDAO followerDAO) {
+    public FollowerServiceImpl(FollowerDAO followerDAO, UserDAO userDAO, UserStatsService userStatsService,
+                               NewsFeedService newsFeedService, NdjsonWriter ndjsonWriter) {
         this.followerDAO = followerDAO;
+        this.userDAO = userDAO;
+        this.userStatsService = userStatsService;
+        this.newsFeedService = newsFeedService;
+        this.ndjsonWriter = ndjsonWriter;
     }
 
     @Override
-    public List<Follower> findAll() {
-        return followerDAO.findAll();
+    public List<FollowerDTO> findPage(Long afterId, int size) {
+        return followerDAO.findPageAfter(afterId, PageRequest.of(0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true) // 스트리밍 결과는 트랜잭션(커넥션)이 열려있는 동안만 읽을 수 있음
+    public void exportAll(OutputStream out) throws IOException {
+        try (Stream<FollowerDTO> followers = followerDAO.streamAll()) {
+            ndjsonWriter.write(followers, out);
+        }
     }
 
     @Override
@@ -31,7 +60,13 @@ public class FollowerServiceImpl implements FollowerService {
     @Override
     @Transactional
     public void deleteById(Long followerId) {
-        followerDAO.deleteById(followerId);
+        followerDAO.findById(followerId).ifPresent(existing -> {
+            followerDAO.delete(existing);
+            // 언팔로우 -> 카운터 감소
+            userStatsService.onFollowChanged(existing.getFollower().getId(), existing.getFollowing().getId(), -1);
+            // 팔로잉 목록이 바뀌었으므로 팔로워의 뉴스피드 재생성
+            newsFeedService.invalidateNewsFeed(existing.getFollower().getId());
+        });
     }
 
     @Override
@@ -46,22 +81,66 @@ public class FollowerServiceImpl implements FollowerService {
         following.setId(followingId);
 
         Follower newFollower = new Follower(follower, following);
-        return followerDAO.save(newFollower);
+        Follower savedFollower;
+        try {
+            savedFollower = followerDAO.save(newFollower);
+        } catch (DataIntegrityViolationException e) {
+            // (follower_id, following_id) 유니크 인덱스 -> 이미 팔로우 중
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Already following user: " + followingId);
+        }
+
+        // 팔로우 -> 카운터 증가
+        userStatsService.onFollowChanged(followerId, followingId, 1);
+        newsFeedService.invalidateNewsFeed(followerId);
+        return savedFollower;
     }
 
     @Override
-    public List<Follower> findFollowers(Long userId) {
-        return followerDAO.findFollowers(userId);
+    @Transactional
+    public Follower updateFollower(Long id, Long followerId, Long followingId) {
+        Follower existingFollower = followerDAO.findById(id)
+                .orElseThrow(() -> new RuntimeException("Follower id not found: " + id));
+
+        User newFollower = userDAO.findById(followerId)
+                .orElseThrow(() -> new RuntimeException("Follower not found: " + followerId));
+        User newFollowing = userDAO.findById(followingId)
+                .orElseThrow(() -> new RuntimeException("Following not found: " + followingId));
+
+        // 기존 관계의 카운터를 감소시키고 새 관계의 카운터를 증가
+        userStatsService.onFollowChanged(existingFollower.getFollower().getId(), existingFollower.getFollowing().getId(), -1);
+        userStatsService.onFollowChanged(followerId, followingId, 1);
+        newsFeedService.invalidateNewsFeed(existingFollower.getFollower().getId());
+        newsFeedService.invalidateNewsFeed(followerId);
+
+        existingFollower.setFollower(newFollower);
+        existingFollower.setFollowing(newFollowing);
+
+        return followerDAO.save(existingFollower);
     }
 
     @Override
-    public List<Follower> findFollowingUsers(Long userId) {
-        return followerDAO.findFollowing(userId);
+    public FollowPage findFollowers(Long userId, Long afterId, int size, boolean includeNames) {
+        Pageable limit = PageRequest.of(0, size);
+        List<FollowUserDTO> users = includeNames
+                ? followerDAO.findFollowerUsersAfter(userId, afterId, limit)
+                : followerDAO.findFollowerIdsAfter(userId, afterId, limit).stream().map(FollowUserDTO::new).toList();
+
+        return new FollowPage(users, nextCursor(users, size), userStatsService.getStats(userId).getFollowerCount());
     }
 
     @Override
-    public Follower save(Follower theFollower) {
-        return followerDAO.save(theFollower);
+    public FollowPage findFollowingUsers(Long userId, Long afterId, int size, boolean includeNames) {
+        Pageable limit = PageRequest.of(0, size);
+        List<FollowUserDTO> users = includeNames
+                ? followerDAO.findFollowingUsersAfter(userId, afterId, limit)
+                : followerDAO.findFollowingIdsAfter(userId, afterId, limit).stream().map(FollowUserDTO::new).toList();
+
+        return new FollowPage(users, nextCursor(users, size), userStatsService.getStats(userId).getFollowingCount());
+    }
+
+    // 요청한 크기만큼 채워졌다면 마지막 사용자 ID 를 다음 커서로 사용
+    private Long nextCursor(List<FollowUserDTO> users, int size) {
+        return users.size() < size ? null : users.get(users.size() - 1).getUserId();
     }
 
 }
@@ -6,7 +6,10 @@ import instagram_join.demo.entity.Post;
 import instagram_join.demo.entity.User;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -26,7 +29,12 @@ public class LikesService {
         newLike.setUserId(userId);
         newLike.setPostId(postId);
 
-        return likesDAO.save(newLike);
+        try {
+            return likesDAO.save(newLike);
+        } catch (DataIntegrityViolationException e) {
+            // (user_id, post_id) 유니크 인덱스 -> 이미 좋아요한 게시글
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Post already liked");
+        }
     }
 
     @Transactional
@@ -0,0 +1,63 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.config.QueryProfiler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 과부하 시 요청 일부를 거절 (adaptive load shedding)
+// - DB 지연: 최근 SQL 실행 시간 평균이 db-latency-threshold 를 넘으면 제한 대상 요청 전체에 적용
+// - Fan-out 지연: 컨슈머 지연이 fanout-lag-threshold 를 넘으면 새 Fan-out 작업을 만드는 요청에만 적용
+// - 거절 비율은 임계값을 넘은 정도에 비례 (임계값의 2배에서 최대) -> 최대 max-shed-ratio 까지만 거절하여
+//   남은 요청으로 지연 값이 계속 갱신되도록 함
+@Component
+public class LoadShedder {
+
+    public static final String REASON_DB_LATENCY = "db_latency";
+    public static final String REASON_FANOUT_LAG = "fanout_lag";
+
+    private final QueryProfiler queryProfiler;
+    private final FanOutMetrics fanOutMetrics;
+
+    private final boolean enabled;
+    private final double dbLatencyThresholdMillis;
+    private final double fanOutLagThresholdMillis;
+    private final double maxShedRatio;
+
+    public LoadShedder(QueryProfiler queryProfiler, FanOutMetrics fanOutMetrics,
+                       @Value("${load-shedding.enabled}") boolean enabled,
+                       @Value("${load-shedding.db-latency-threshold}") Duration dbLatencyThreshold,
+                       @Value("${load-shedding.fanout-lag-threshold}") Duration fanOutLagThreshold,
+                       @Value("${load-shedding.max-shed-ratio}") double maxShedRatio) {
+        this.queryProfiler = queryProfiler;
+        this.fanOutMetrics = fanOutMetrics;
+        this.enabled = enabled;
+        this.dbLatencyThresholdMillis = dbLatencyThreshold.toMillis();
+        this.fanOutLagThresholdMillis = fanOutLagThreshold.toMillis();
+        this.maxShedRatio = maxShedRatio;
+    }
+
+    // 요청을 거절해야 하면 이유(REASON_*), 아니면 null
+    public String shouldShed(boolean checkFanOutLag) {
+        if (!enabled) {
+            return null;
+        }
+        if (shed(queryProfiler.getRecentLatencyMillis(), dbLatencyThresholdMillis)) {
+            return REASON_DB_LATENCY;
+        }
+        if (checkFanOutLag && shed(fanOutMetrics.getConsumerLagMillis(), fanOutLagThresholdMillis)) {
+            return REASON_FANOUT_LAG;
+        }
+        return null;
+    }
+
+    private boolean shed(double value, double threshold) {
+        if (value <= threshold) {
+            return false;
+        }
+        double ratio = Math.min(maxShedRatio, (value - threshold) / threshold);
+        return ThreadLocalRandom.current().nextDouble() < ratio;
+    }
+}
@@ -0,0 +1,97 @@
+package instagram_join.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import instagram_join.demo.dto.PostDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Redis 장애(서킷 open) 동안의 뉴스피드 조회 경로
+// - 정상 조회 결과를 노드별 로컬 캐시(크기 제한)에 보관해 두고 장애 중에는 그대로 반환
+// - 로컬 캐시에 없으면 DB 에서 조회하되 동시 조회 수를 db-concurrency 로 제한 (bulkhead)
+//   -> 허용 수를 넘는 요청은 db-acquire-timeout 만큼만 기다린 뒤 503 (캐시 장애가 DB 장애로 번지지 않도록)
+@Component
+public class LocalFeedFallback {
+
+    private final Cache<String, Page<PostDTO>> localCache;
+    private final Semaphore dbPermits;
+    private final long dbAcquireTimeoutMillis;
+
+    private final Counter localHitCounter;
+    private final Counter dbCounter;
+    private final Counter rejectedCounter;
+
+    public LocalFeedFallback(MeterRegistry meterRegistry,
+                             @Value("${newsFeed.degraded.local-cache-size}") long localCacheSize,
+                             @Value("${newsFeed.degraded.local-cache-ttl}") Duration localCacheTtl,
+                             @Value("${newsFeed.degraded.db-concurrency}") int dbConcurrency,
+                             @Value("${newsFeed.degraded.db-acquire-timeout}") Duration dbAcquireTimeout) {
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .expireAfterWrite(localCacheTtl)
+                .build();
+        this.dbPermits = new Semaphore(dbConcurrency);
+        this.dbAcquireTimeoutMillis = dbAcquireTimeout.toMillis();
+
+        this.localHitCounter = requests(meterRegistry, "local_cache");
+        this.dbCounter = requests(meterRegistry, "db");
+        this.rejectedCounter = requests(meterRegistry, "rejected");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("newsfeed.degraded")
+                .description("News feed requests served while Redis is unavailable")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    // 정상 경로에서 조회한 페이지 보관
+    public void remember(Long userId, Pageable pageable, Page<PostDTO> page) {
+        localCache.put(key(userId, pageable), page);
+    }
+
+    // 로컬 캐시 -> 없으면 동시 조회 수를 제한하여 loader(DB) 로 조회
+    public Page<PostDTO> get(Long userId, Pageable pageable, Supplier<Page<PostDTO>> loader) {
+        String key = key(userId, pageable);
+        Page<PostDTO> cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            localHitCounter.increment();
+            return cached;
+        }
+
+        boolean acquired;
+        try {
+            acquired = dbPermits.tryAcquire(dbAcquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedCounter.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "News feed is temporarily unavailable");
+        }
+        try {
+            dbCounter.increment();
+            Page<PostDTO> page = loader.get();
+            localCache.put(key, page);
+            return page;
+        } finally {
+            dbPermits.release();
+        }
+    }
+
+    private static String key(Long userId, Pageable pageable) {
+        return userId + ":" + pageable.getOffset() + ":" + pageable.getPageSize();
+    }
+}
@@ -0,0 +1,39 @@
+package instagram_join.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// 스트림의 각 항목을 한 줄짜리 JSON 으로 응답에 바로 기록 (NDJSON)
+// 전체 결과를 메모리에 모으지 않으므로 테이블 크기와 관계없이 메모리 사용량이 일정하다
+@Component
+public class NdjsonWriter {
+
+    // 일정 개수마다 flush 하여 클라이언트가 바로 받을 수 있도록 함
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final ObjectWriter objectWriter;
+
+    public NdjsonWriter(@Qualifier("objectMapper") ObjectMapper objectMapper) {
+        this.objectWriter = objectMapper.writer();
+    }
+
+    public <T> void write(Stream<T> rows, OutputStream out) throws IOException {
+        Iterator<T> iterator = rows.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            out.write(objectWriter.writeValueAsBytes(iterator.next()));
+            out.write('\n');
+            if (++count % FLUSH_INTERVAL == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,69 @@
+package instagram_join.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import instagram_join.demo.dto.NewsFeedResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 뉴스피드 첫 페이지의 직렬화된 JSON 응답 캐시
+// - 키에 피드 버전을 포함 -> 팬아웃, 게시글 수정/삭제, 팔로우 변경으로 버전이 바뀌면 자동으로 무효화
+// - 캐시 적중 시 DB 조회와 Jackson 직렬화 없이 저장된 바이트를 그대로 응답
+@Service
+public class NewsFeedPageCache {
+
+    private static final String PAGE_CACHE_KEY_PREFIX = "newsfeed-page:";
+    // - 키: newsfeed-page:{userId}:{version}:{size}
+    // - newsfeed:* 패턴(뉴스피드 ZSET)에 포함되지 않도록 다른 접두사 사용
+
+    private static final long CACHE_TTL_MINUTES = 10;
+    // - 이전 버전의 항목은 갱신되지 않으므로 TTL 이 지나면 제거됨
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public NewsFeedPageCache(StringRedisTemplate stringRedisTemplate, @Qualifier("objectMapper") ObjectMapper objectMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    // 응답 JSON 반환 -> 첫 페이지는 캐시에서 조회하고, 없으면 loader 로 생성하여 저장
+    public byte[] render(Long userId, String version, int page, int size, Supplier<NewsFeedResponse> loader) {
+        if (page != 0) {
+            return serialize(loader.get());
+        }
+
+        byte[] key = (PAGE_CACHE_KEY_PREFIX + userId + ":" + version + ":" + size).getBytes(StandardCharsets.UTF_8);
+        byte[] cached = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(key));
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] body = serialize(loader.get());
+        stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(key, body, Expiration.from(CACHE_TTL_MINUTES, TimeUnit.MINUTES), RedisStringCommands.SetOption.upsert()));
+        return body;
+    }
+
+    // 캐시를 거치지 않고 직렬화 (Redis 장애 중)
+    public byte[] renderUncached(Supplier<NewsFeedResponse> loader) {
+        return serialize(loader.get());
+    }
+
+    private byte[] serialize(NewsFeedResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize news feed", e);
+        }
+    }
+}
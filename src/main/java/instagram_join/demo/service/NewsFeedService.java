@@ -1,46 +1,65 @@
 package instagram_join.demo.service;
 
+import instagram_join.demo.config.RedisCircuitBreaker;
 import instagram_join.demo.dao.FollowerDAO;
 import instagram_join.demo.dao.PostDAO;
+import instagram_join.demo.dto.NewPostsResponse;
 import instagram_join.demo.dto.PostDTO;
 import instagram_join.demo.dto.UserDTO;
 import instagram_join.demo.entity.Follower;
 import instagram_join.demo.entity.Post;
 import instagram_join.demo.entity.User;
 import jakarta.annotation.PostConstruct;
-import jakarta.transaction.Transactional;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Range;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @Slf4j // 로깅을 위한 Lombok 어노테이션. 이 클래스를 통해 로그 메시지를 기록할 수 있음
 @Service // 스프링 서비스 레이어를 나타내는 어노테이션
-@CacheConfig(cacheNames = "newsFeedCache") // 캐시 설정을 위한 어노테이션. 기본 캐시 이름을 지정
 public class NewsFeedService {
 
-    private static final String NEWS_FEED_KEY_PREFIX = "newsfeed:";
+    static final String NEWS_FEED_KEY_PREFIX = "newsfeed:";
     // - Redis에서 각 사용자의 뉴스피드를 저장할 때 사용하는 키의 접두사
 
-    private static final String FANOUT_STREAM_KEY = "fanout:stream";
+    static final String FANOUT_STREAM_KEY = "fanout:stream";
     // - Redis Stream의 고유 식별자로 사용
     // - 모든 fan-out 작업이 이 스트림에 저장됨
 
-    private static final String CONSUMER_GROUP = "fanout-group";
+    static final String CONSUMER_GROUP = "fanout-group";
     // - Redis Stream의 컨슈머 그룹 이름
     // - 여러 컨슈머가 협력하여 메시지를 처리할 때 사용
 
@@ -51,6 +70,39 @@ public class NewsFeedService {
     private static final long CACHE_TTL_HOURS = 12;
     // - 뉴스피드 캐시의 유효 기간을 12시간으로 설정
 
+    private static final String FEED_VERSION_KEY_PREFIX = "feedversion:";
+    // - 사용자별 뉴스피드 버전 (피드 내용이 바뀔 때마다 증가) -> ETag 로 사용
+    // - newsfeed:* 패턴에 포함되지 않도록 다른 접두사 사용
+    // - 만료되면 이전에 발급한 ETag 와 같은 값이 다시 나올 수 있으므로 TTL 을 두지 않음
+
+    private static final int FEED_WRITE_BATCH_SIZE = 500;
+    // - Fan-out / 게시물 삭제 시 스크립트 하나로 처리하는 피드 수
+
+    // KEYS[1..n]: 뉴스피드 키, KEYS[n+1..2n]: 같은 순서의 피드 버전 키, ARGV[1]: 게시물 ID, ARGV[2]: score, ARGV[3]: TTL(초)
+    private static final RedisScript<Long> ADD_TO_FEEDS = new DefaultRedisScript<>("""
+            local n = #KEYS / 2
+            for i = 1, n do
+                redis.call('ZADD', KEYS[i], ARGV[2], ARGV[1])
+                redis.call('EXPIRE', KEYS[i], ARGV[3])
+                redis.call('INCR', KEYS[n + i])
+            end
+            return n
+            """, Long.class);
+
+    // KEYS 는 ADD_TO_FEEDS 와 같음, ARGV: 제거할 게시물 ID 목록
+    // 게시물이 실제로 제거된 피드의 버전만 증가, 반환: 버전이 증가한 피드 수
+    private static final RedisScript<Long> REMOVE_FROM_FEEDS = new DefaultRedisScript<>("""
+            local n = #KEYS / 2
+            local removed = 0
+            for i = 1, n do
+                if redis.call('ZREM', KEYS[i], unpack(ARGV)) > 0 then
+                    redis.call('INCR', KEYS[n + i])
+                    removed = removed + 1
+                end
+            end
+            return removed
+            """, Long.class);
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
     // Redis 연산을 위한 RedisTemplate 주입
@@ -67,6 +119,96 @@ public class NewsFeedService {
     @Autowired
     private PostDAO postDAO;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    // 방금 저장된 게시글 조회처럼 복제 지연이 없어야 하는 읽기를 primary 에서 실행할 때 사용
+
+    @Autowired
+    private TimelineService timelineService;
+    // 작성자별 최신 게시글 타임라인 (뉴스피드 재생성, 프로필 게시글 조회에 사용)
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private FeedEventService feedEventService;
+    // 접속 중인 사용자에게 새 게시물 알림 (SSE)
+
+    @Autowired
+    private FanOutMetrics fanOutMetrics;
+    // Fan-out 처리량, 단계별 처리 시간, 게시물 노출 지연 메트릭
+
+    @Autowired
+    private FeedCacheMetrics feedCacheMetrics;
+    // 뉴스피드 캐시 적중 / 재생성 메트릭
+
+    @Autowired
+    private FeedTracer feedTracer;
+    // hot path 로그 대신 샘플링된 trace 이벤트
+
+    @Autowired
+    private RedisCircuitBreaker redisCircuitBreaker;
+
+    @Autowired
+    private LocalFeedFallback localFeedFallback;
+
+    @Autowired
+    private FanOutOutbox fanOutOutbox;
+    // Redis 장애 중 뉴스피드 조회(로컬 캐시 + 동시 조회 수가 제한된 DB) / Fan-out 작업 등록(로컬 outbox) 대체 경로
+
+    // 뉴스피드 캐시에 유지하는 최대 게시물 수
+    @Value("${newsFeed.max-size}")
+    private int feedMaxSize;
+
+    // 한 번에 읽는 Fan-out 레코드 수
+    @Value("${newsFeed.fanout.batch-size}")
+    private int fanOutBatchSize;
+
+    // 동시에 처리하는 Fan-out 레코드 수 (DB 커넥션 풀 크기보다 작게 유지)
+    @Value("${newsFeed.fanout.concurrency}")
+    private int fanOutConcurrency;
+
+    // pending 레코드를 다시 처리하기 전 ACK 를 기다리는 시간 / 최대 전달 횟수
+    @Value("${newsFeed.fanout.claim-min-idle}")
+    private Duration fanOutClaimMinIdle;
+
+    @Value("${newsFeed.fanout.max-deliveries}")
+    private long fanOutMaxDeliveries;
+
+    @Autowired
+    private Environment environment;
+
+    // Fan-out 레코드 처리 스레드
+    // - spring.threads.virtual.enabled=true (JDK 21+) 이면 레코드마다 가상 스레드, 아니면 고정 크기 스레드 풀
+    private AsyncTaskExecutor fanOutExecutor;
+
+    @PostConstruct
+    public void initializeFanOutExecutor() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("fanout-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(fanOutConcurrency);
+            fanOutExecutor = executor;
+        } else {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(fanOutConcurrency);
+            executor.setMaxPoolSize(fanOutConcurrency);
+            executor.setThreadNamePrefix("fanout-");
+            executor.initialize();
+            fanOutExecutor = executor;
+        }
+        log.info("Fan-out executor: {} (concurrency: {})", fanOutExecutor.getClass().getSimpleName(), fanOutConcurrency);
+    }
+
+    @PreDestroy
+    public void shutdownFanOutExecutor() {
+        if (fanOutExecutor instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        } else if (fanOutExecutor instanceof SimpleAsyncTaskExecutor executor) {
+            executor.close();
+        }
+    }
+
     // Consumer Group 초기화
     // 애플리케이션 시작 시 컨슈머 그룹을 생성
     // 이미 존재하는 경우 예외가 발생하므로 catch로 처리
@@ -82,7 +224,26 @@ public class NewsFeedService {
 
     // Fan-out 작업을 Redis Stream에 등록
     // 하나의 게시글을 여러 팔로워들의 피드에 배포하는 작업
+    // 트랜잭션 안에서 호출되면 커밋 후에 등록 (컨슈머가 아직 커밋되지 않은 게시글을 읽지 않도록)
     public void enqueueFanOutPost(Post post) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addFanOutRecord(post);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // 게시글은 이미 커밋됨 -> 등록 실패로 요청을 실패시키지 않음 (로그만 남김)
+                try {
+                    addFanOutRecord(post);
+                } catch (Exception e) {
+                    log.error("Fan-out task was not enqueued after commit for post: {}", post.getId(), e);
+                }
+            }
+        });
+    }
+
+    private void addFanOutRecord(Post post) {
         try {
             // Redis Stream에 저장할 메시지 데이터를 담을 Map 생성
             Map<String, String> messageMap = new HashMap<>();
@@ -113,15 +274,21 @@ public class NewsFeedService {
             // FANOUT_STREAM_KEY: 스트림의 키 이름
             // StreamRecords.newRecord(): 새로운 레코드 생성
             // ofMap(): Map 형태의 데이터를 레코드에 저장
-            RecordId recordId = stringRedisTemplate.opsForStream()
-                    .add(StreamRecords.newRecord()
-                            .in(FANOUT_STREAM_KEY)
-                            .ofMap(messageMap));
+            // Redis 장애 중에는 로컬 outbox 에 보관 -> Redis 가 복구되면 스트림에 다시 등록 (게시글 작성은 실패하지 않음)
+            RecordId recordId = redisCircuitBreaker.execute(
+                    () -> stringRedisTemplate.opsForStream()
+                            .add(StreamRecords.newRecord()
+                                    .in(FANOUT_STREAM_KEY)
+                                    .ofMap(messageMap)),
+                    () -> {
+                        fanOutOutbox.append(messageMap.get("postId"), messageMap.get("userId"),
+                                messageMap.get("timestamp"));
+                        return null;
+                    });
 
-            // 작업 성공 로그 기록
             // 어떤 게시물이 어떤 사용자에 의해 언제 큐에 들어갔는지 기록
-            log.info("Fan-out task enqueued - PostId: {}, UserId: {}, Timestamp: {}, RecordId: {}",
-                    post.getId(), post.getUser().getId(), epochSeconds, recordId);
+            feedTracer.trace("fanout.enqueued", "postId", post.getId(), "userId", post.getUser().getId(),
+                    "timestamp", epochSeconds, "recordId", recordId);
 
         } catch (Exception e) {
             // 예외 발생 시 에러 로그 기록 및 RuntimeException으로 래핑하여 재발생
@@ -137,10 +304,14 @@ public class NewsFeedService {
      */
     @Scheduled(fixedDelay = 10)
     public void processFanOutTasks() {
+        // Redis 장애 중에는 스트림을 읽지 않음 (복구되면 쌓인 레코드부터 처리)
+        if (redisCircuitBreaker.isOpen()) {
+            return;
+        }
         try {
             // Redis Stream에서 읽기 위한 옵션 설정
-            // count(10): 한 번에 최대 10개의 레코드만 읽음
-            StreamReadOptions readOptions = StreamReadOptions.empty().count(10);
+            // count: 한 번에 최대 newsFeed.fanout.batch-size 개의 레코드만 읽음
+            StreamReadOptions readOptions = StreamReadOptions.empty().count(fanOutBatchSize);
 
             // 스트림에서 레코드 읽기
             // Consumer.from(): 컨슈머 그룹과 컨슈머 이름 지정
@@ -156,85 +327,312 @@ public class NewsFeedService {
                 return;
             }
 
-            log.info("Processing {} fan-out tasks", records.size());
+            log.debug("Processing {} fan-out tasks", records.size());
+            processFanOutRecords(records);
+        } catch (Exception e) {
+            if (RedisCircuitBreaker.isRedisFailure(e)) {
+                redisCircuitBreaker.recordFailure(e);
+            }
+            // 전체 프로세스 실패 시 에러 로깅
+            log.error("Error in fan-out task processing", e);
+        }
+    }
 
-            // 각 레코드 처리
-            for (MapRecord<String, Object, Object> record : records) {
-                try {
-                    // 레코드에서 필요한 데이터 추출
-                    Map<Object, Object> values = record.getValue();
-                    Long postId = Long.parseLong((String) values.get("postId"));
-                    Long userId = Long.parseLong((String) values.get("userId"));
+    // 처리 중 실패해 ACK 되지 않은 레코드 재처리
+    // - lastConsumed() 로는 이미 전달된 레코드를 다시 읽지 않으므로 pending 목록(XPENDING)에서 찾아 XCLAIM
+    // - claim-min-idle 이상 ACK 되지 않은 레코드만 대상 (처리 중인 레코드와 겹치지 않도록)
+    // - max-deliveries 번 전달되고도 실패한 레코드는 에러 로그를 남기고 ACK (같은 레코드가 계속 재시도되지 않도록)
+    @Scheduled(fixedDelayString = "${newsFeed.fanout.claim-interval}")
+    public void reclaimPendingFanOutTasks() {
+        if (redisCircuitBreaker.isOpen()) {
+            return;
+        }
+        try {
+            PendingMessages pending = stringRedisTemplate.opsForStream()
+                    .pending(FANOUT_STREAM_KEY, CONSUMER_GROUP, Range.unbounded(), fanOutBatchSize);
 
-                    log.info("Processing fan-out for PostId: {}, UserId: {}", postId, userId);
+            List<RecordId> idleIds = new ArrayList<>();
+            for (PendingMessage message : pending) {
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(fanOutClaimMinIdle) < 0) {
+                    continue;
+                }
+                if (message.getTotalDeliveryCount() >= fanOutMaxDeliveries) {
+                    log.error("Dropping fan-out task {} after {} deliveries", message.getIdAsString(),
+                            message.getTotalDeliveryCount());
+                    stringRedisTemplate.opsForStream().acknowledge(FANOUT_STREAM_KEY, CONSUMER_GROUP, message.getId());
+                    continue;
+                }
+                idleIds.add(message.getId());
+            }
+            if (idleIds.isEmpty()) {
+                return;
+            }
 
-                    // 게시물 조회
-                    Post post = postDAO.findById(postId)
-                            .orElseThrow(() -> new RuntimeException("Post not found: " + postId));
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                    .claim(FANOUT_STREAM_KEY, CONSUMER_GROUP, CONSUMER_NAME, fanOutClaimMinIdle,
+                            idleIds.toArray(RecordId[]::new));
+            if (records == null || records.isEmpty()) {
+                return;
+            }
 
-                    // 작성자의 팔로워 목록 조회
-                    List<Follower> followers = followerDAO.findFollowers(userId);
-                    log.info("Found {} followers for userId: {}", followers.size(), userId);
+            log.warn("Retrying {} pending fan-out tasks", records.size());
+            processFanOutRecords(records);
+        } catch (Exception e) {
+            if (RedisCircuitBreaker.isRedisFailure(e)) {
+                redisCircuitBreaker.recordFailure(e);
+            }
+            log.error("Error in pending fan-out task processing", e);
+        }
+    }
 
-                    // 정렬을 위한 score 값으로 타임스탬프 사용
-                    double score = Double.parseDouble((String) values.get("timestamp"));
+    // 각 레코드를 fanOutExecutor 에서 동시에 처리 (Redis / JDBC 대기 시간을 겹침)
+    // 배치의 모든 레코드가 끝난 뒤 반환 -> 다음 배치를 읽음
+    private void processFanOutRecords(List<MapRecord<String, Object, Object>> records) {
+        CompletableFuture<?>[] tasks = records.stream()
+                .map(record -> CompletableFuture.runAsync(() -> processFanOutRecord(record), fanOutExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tasks).join();
+    }
 
-                    // 1. 작성자의 뉴스 피드에 게시물 추가
-                    String authorFeedKey = NEWS_FEED_KEY_PREFIX + userId;
-                    // Redis Sorted Set에 추가 (키: 뉴스피드키, 값: 게시물ID, score: 타임스탬프)
-                    redisTemplate.opsForZSet().add(authorFeedKey, postId.toString(), score);
-                    // 뉴스피드 캐시의 만료 시간 설정
-                    redisTemplate.expire(authorFeedKey, CACHE_TTL_HOURS, TimeUnit.HOURS);
+    // Fan-out 레코드 하나 처리
+    private void processFanOutRecord(MapRecord<String, Object, Object> record) {
+        long start = System.nanoTime();
+        try {
+            // 레코드에서 필요한 데이터 추출
+            Map<Object, Object> values = record.getValue();
+            Long postId = Long.parseLong((String) values.get("postId"));
+            Long userId = Long.parseLong((String) values.get("userId"));
+
+            // 게시물 조회 (방금 저장된 게시글이므로 복제본이 아닌 primary 에서 조회)
+            // 커밋 후에 등록되므로 게시글이 없으면 팬아웃 전에 삭제된 것 -> 배포하지 않고 ACK
+            Optional<Post> post = fanOutMetrics.time(FanOutMetrics.Stage.POST_LOOKUP,
+                    () -> transactionTemplate.execute(status -> postDAO.findById(postId)));
+            if (post.isEmpty()) {
+                log.info("Skipping fan-out of deleted post: {}", postId);
+                stringRedisTemplate.opsForStream().acknowledge(CONSUMER_GROUP, record);
+                fanOutMetrics.recordProcessed(true);
+                return;
+            }
 
-                    log.info("Added to author's feed: {}", authorFeedKey);
+            // 작성자의 팔로워 목록 조회
+            List<Follower> followers = fanOutMetrics.time(FanOutMetrics.Stage.FOLLOWER_LOOKUP,
+                    () -> followerDAO.findFollowers(userId));
+
+            // 정렬을 위한 score 값으로 타임스탬프 사용
+            double score = Double.parseDouble((String) values.get("timestamp"));
+
+            fanOutMetrics.run(FanOutMetrics.Stage.FEED_WRITE, () -> {
+                // 작성자의 타임라인에 게시물 추가
+                timelineService.addPost(userId, postId, score);
+
+                // 작성자 + 각 팔로워의 뉴스 피드에 게시물 추가 (ZADD / EXPIRE / 버전 INCR 를 배치 단위로 한 번에 전송)
+                List<Long> feedOwnerIds = new ArrayList<>(followers.size() + 1);
+                feedOwnerIds.add(userId);
+                followers.forEach(follower -> feedOwnerIds.add(follower.getFollower().getId()));
+                addToFeeds(feedOwnerIds, postId, score);
+            });
+            fanOutMetrics.recordFeedWrites(followers.size() + 1);
+            // 모든 피드에 추가됨 -> 게시물 노출 지연 기록
+            fanOutMetrics.recordVisible(record.getId());
+
+            // 3. 게시물이 추가된 피드의 사용자 중 접속 중인 사용자에게 실시간 알림
+            fanOutMetrics.run(FanOutMetrics.Stage.NOTIFY, () -> notifyFeedUpdated(postId, score, userId, followers));
+
+            // 성공적으로 처리된 레코드를 컨슈머 그룹에 승인
+            // 이를 통해 해당 레코드가 정상적으로 처리되었음을 알림
+            fanOutMetrics.run(FanOutMetrics.Stage.ACK, () -> stringRedisTemplate.opsForStream()
+                    .acknowledge(CONSUMER_GROUP, record));
+            fanOutMetrics.recordProcessed(true);
+
+            // 팔로워별 로그 대신 레코드당 요약 이벤트 하나
+            feedTracer.trace("fanout.processed", "recordId", record.getId(), "postId", postId, "userId", userId,
+                    "feeds", followers.size() + 1,
+                    "durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 
-                    // 2. 각 팔로워의 뉴스 피드에 게시물 추가
-                    for (Follower follower : followers) {
-                        String newsFeedKey = NEWS_FEED_KEY_PREFIX + follower.getFollower().getId();
-                        redisTemplate.opsForZSet().add(newsFeedKey, postId.toString(), score);
-                        redisTemplate.expire(newsFeedKey, CACHE_TTL_HOURS, TimeUnit.HOURS);
+        } catch (Exception e) {
+            // 개별 레코드 처리 실패 시 해당 레코드만 스킵하고 계속 진행
+            fanOutMetrics.recordProcessed(false);
+            log.error("Failed to process fan-out task: {}", record.getId(), e);
+        }
+    }
 
-                        log.info("Added to follower's feed: {}", newsFeedKey);
-                    }
+    // 여러 사용자의 뉴스 피드에 게시물 추가 (Fan-out 본문)
+    // 피드마다 ZADD + EXPIRE + 버전 INCR 를 FEED_WRITE_BATCH_SIZE 개 피드 단위 스크립트 하나로 실행 -> 배치당 왕복 1회
+    // (executePipelined 는 연결 풀이 없으면 호출마다 전용 연결을 새로 맺으므로 공유 연결에서 실행되는 스크립트 사용)
+    void addToFeeds(List<Long> userIds, Long postId, double score) {
+        long ttlSeconds = TimeUnit.HOURS.toSeconds(CACHE_TTL_HOURS);
+        for (int from = 0; from < userIds.size(); from += FEED_WRITE_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + FEED_WRITE_BATCH_SIZE, userIds.size()));
+            // Redis Sorted Set에 추가 (키: 뉴스피드키, 값: 게시물ID, score: 타임스탬프)
+            redisTemplate.execute(ADD_TO_FEEDS, feedAndVersionKeys(batch), postId.toString(), score, ttlSeconds);
+        }
+    }
 
-                    // 성공적으로 처리된 레코드를 컨슈머 그룹에 승인
-                    // 이를 통해 해당 레코드가 정상적으로 처리되었음을 알림
-                    stringRedisTemplate.opsForStream()
-                            .acknowledge(CONSUMER_GROUP, record);
+    // 알림 실패는 팬아웃 결과에 영향을 주지 않음 (클라이언트는 다음 조회 또는 resync 때 반영)
+    private void notifyFeedUpdated(Long postId, double score, Long authorId, List<Follower> followers) {
+        try {
+            List<Long> userIds = new ArrayList<>(followers.size() + 1);
+            userIds.add(authorId);
+            followers.forEach(follower -> userIds.add(follower.getFollower().getId()));
+            feedEventService.publishPostAdded(postId, score, userIds);
+        } catch (Exception e) {
+            log.warn("Failed to publish feed event for PostId: {}", postId, e);
+        }
+    }
+
+    // 게시물이 들어갈 수 있는 뉴스피드(작성자 + 작성자의 팔로워)에서 게시물을 제거
+    // - KEYS 로 전체 피드를 훑지 않고 팔로워 목록으로 대상 피드를 정함
+    // - 실제로 게시물이 제거된 피드만 버전을 올림 (ZREM 결과를 Lua 스크립트 안에서 확인)
+    // 트랜잭션 안에서 호출되면 스크립트는 커밋 시점에 실행됨 (RedisTemplate 트랜잭션 지원)
+    public void removePostFromNewsFeeds(Long authorId, Long postId) {
+        removePostsFromNewsFeeds(authorId, List.of(postId));
+    }
 
-                    log.info("Successfully processed and acknowledged record: {}", record.getId());
+    // 같은 작성자의 게시물 여러 개를 한 번에 제거 (팔로워 목록 조회 1회)
+    public void removePostsFromNewsFeeds(Long authorId, List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        List<Long> feedOwnerIds = new ArrayList<>(followerDAO.findFollowerIds(authorId));
+        feedOwnerIds.add(authorId);
+        Object[] members = postIds.stream().map(String::valueOf).toArray();
 
-                } catch (Exception e) {
-                    // 개별 레코드 처리 실패 시 해당 레코드만 스킵하고 계속 진행
-                    log.error("Failed to process fan-out task: {}", record.getId(), e);
-                }
+        try {
+            for (int from = 0; from < feedOwnerIds.size(); from += FEED_WRITE_BATCH_SIZE) {
+                List<Long> batch = feedOwnerIds.subList(from, Math.min(from + FEED_WRITE_BATCH_SIZE, feedOwnerIds.size()));
+                redisTemplate.execute(REMOVE_FROM_FEEDS, feedAndVersionKeys(batch), members);
             }
         } catch (Exception e) {
-            // 전체 프로세스 실패 시 에러 로깅
-            log.error("Error in fan-out task processing", e);
+            log.error("Failed to remove posts from news feeds: {}", postIds, e);
+            throw new RuntimeException("Failed to remove post from news feeds", e);
         }
     }
 
-    // 모든 뉴스피드에서 특정 게시물을 제거하는 메서드
-    @Transactional
-    public void removePostFromNewsFeeds(Long postId) {
-        try {
-            String postIdStr = postId.toString();
-            Set<String> keys = redisTemplate.keys(NEWS_FEED_KEY_PREFIX + "*");
+    // 스크립트 인자: 뉴스피드 키 목록 + 같은 순서의 피드 버전 키 목록
+    private static List<String> feedAndVersionKeys(List<Long> userIds) {
+        List<String> keys = new ArrayList<>(userIds.size() * 2);
+        userIds.forEach(userId -> keys.add(NEWS_FEED_KEY_PREFIX + userId));
+        userIds.forEach(userId -> keys.add(FEED_VERSION_KEY_PREFIX + userId));
+        return keys;
+    }
+
+    // 팔로우 관계가 바뀐 경우 -> 캐시된 피드를 삭제하여 다음 조회 시 다시 생성
+    // 트랜잭션 안에서 호출되면 Redis 명령은 커밋 시점에 실행됨 (RedisTemplate 트랜잭션 지원)
+    public void invalidateNewsFeed(Long userId) {
+        redisTemplate.delete(NEWS_FEED_KEY_PREFIX + userId);
+        bumpFeedVersion(userId);
+    }
+
+    // 사용자의 현재 뉴스피드 버전 (Redis 만 조회, DB 접근 없음)
+    // 버전이 없으면 현재 시각(ms)으로 생성 -> 이전에 발급한 ETag 와 겹치지 않음
+    public String getFeedVersion(Long userId) {
+        String versionKey = FEED_VERSION_KEY_PREFIX + userId;
+        String version = stringRedisTemplate.opsForValue().get(versionKey);
+        if (version != null) {
+            return version;
+        }
+        stringRedisTemplate.opsForValue().setIfAbsent(versionKey, String.valueOf(System.currentTimeMillis()));
+        return stringRedisTemplate.opsForValue().get(versionKey);
+    }
+
+    // 피드 내용이 바뀌면 버전 증가 -> 클라이언트가 가진 ETag 가 더 이상 일치하지 않음
+    private void bumpFeedVersion(Long userId) {
+        redisTemplate.opsForValue().increment(FEED_VERSION_KEY_PREFIX + userId);
+    }
+
+    // 클라이언트가 마지막으로 본 게시물(score 또는 게시물 ID)보다 새로운 피드 항목 수 조회 (pull-to-refresh)
+    // 뉴스피드 ZSET 만 조회하며 DB 에 접근하지 않음
+    public NewPostsResponse getNewPosts(Long userId, Double sinceScore, Long sincePostId, boolean includeIds, int limit) {
+        String newsFeedKey = NEWS_FEED_KEY_PREFIX + userId;
 
-            if (keys != null) {
-                for (String key : keys) {
-                    redisTemplate.opsForZSet().remove(key, postIdStr);
+        if (sinceScore != null) {
+            // score 는 초 단위 정수 -> 바로 다음 double 값부터 세면 "score 보다 큰" 항목만 포함 (ZCOUNT key (score +inf)
+            double min = Math.nextUp(sinceScore);
+            List<Object> results = executeZSetPipeline(newsFeedKey, ops -> {
+                ops.count(newsFeedKey, min, Double.POSITIVE_INFINITY);
+                if (includeIds) {
+                    ops.reverseRangeByScore(newsFeedKey, min, Double.POSITIVE_INFINITY, 0, limit);
                 }
+            });
+            long feedSize = (Long) results.get(0);
+            long newCount = (Long) results.get(1);
+            return new NewPostsResponse(newCount, includeIds ? toPostIds(results.get(2)) : null, feedSize == 0);
+        }
+
+        // 게시물 ID 기준 -> 최신순 순위(ZREVRANK)가 곧 그보다 새로운 항목 수
+        List<Object> results = executeZSetPipeline(newsFeedKey, ops -> ops.reverseRank(newsFeedKey, sincePostId.toString()));
+        long feedSize = (Long) results.get(0);
+        Long rank = (Long) results.get(1);
+        if (rank == null) {
+            // 기준 게시물이 피드에 없음 (캐시 만료, 삭제, 최대 크기 초과로 밀려남)
+            return new NewPostsResponse(0, includeIds ? List.of() : null, true);
+        }
+
+        List<Long> postIds = null;
+        if (includeIds) {
+            postIds = rank == 0 ? List.of() : toPostIds(redisTemplate.opsForZSet()
+                    .reverseRange(newsFeedKey, 0, Math.min(rank, limit) - 1));
+        }
+        return new NewPostsResponse(rank, postIds, feedSize == 0);
+    }
+
+    // 피드 크기(ZCARD)와 함께 ZSET 명령들을 한 번의 파이프라인으로 실행
+    // 결과의 첫 번째 값은 항상 피드 크기
+    @SuppressWarnings("unchecked")
+    private List<Object> executeZSetPipeline(String newsFeedKey,
+                                             java.util.function.Consumer<ZSetOperations<String, Object>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForZSet().zCard(newsFeedKey);
+                commands.accept(ops.opsForZSet());
+                return null;
             }
-        } catch (Exception e) {
-            log.error("Failed to remove post from news feeds: {}", postId, e);
-            throw new RuntimeException("Failed to remove post from news feeds", e);
+        });
+    }
+
+    private static List<Long> toPostIds(Object members) {
+        if (members == null) {
+            return List.of();
         }
+        return ((Collection<?>) members).stream()
+                .map(member -> Long.parseLong((String) member))
+                .toList();
     }
 
     // 사용자의 뉴스 피드를 가져오는 메서드
+    // Redis 장애(서킷 open 또는 Redis 오류) 시 로컬 캐시 / DB 대체 경로로 조회
     public Page<PostDTO> getNewsFeed(Long userId, Pageable pageable) {
+        return redisCircuitBreaker.execute(() -> {
+            Page<PostDTO> page = getCachedNewsFeed(userId, pageable);
+            localFeedFallback.remember(userId, pageable, page);
+            return page;
+        }, () -> getDegradedNewsFeed(userId, pageable));
+    }
+
+    // Redis 없이 뉴스피드 조회 -> 로컬 캐시에 없으면 DB 에서 최신순으로 조회 (동시 조회 수 제한)
+    // 피드 캐시와 같은 순서(created_at, id) 이지만 전체 개수는 알 수 없으므로 다음 페이지 여부만 반영
+    // 뉴스피드 캐시와 같이 최신 newsFeed.max-size 개까지만 제공 -> 범위를 넘는 페이지는 DB 조회 없이 빈 페이지
+    public Page<PostDTO> getDegradedNewsFeed(Long userId, Pageable pageable) {
+        if (pageable.getOffset() >= feedMaxSize) {
+            return Page.empty(pageable);
+        }
+        return localFeedFallback.get(userId, pageable, () -> {
+            int offset = (int) pageable.getOffset();
+            List<Long> ids = postDAO.findLatestFeedPostIds(userId, offset + pageable.getPageSize() + 1);
+            List<Long> postIds = ids.stream()
+                    .skip(offset)
+                    .limit(pageable.getPageSize())
+                    .toList();
+            List<PostDTO> postDTOs = postIds.isEmpty() ? List.of() : postDAO.findByIdIn(postIds).stream()
+                    .map(this::convertToDTO)
+                    .toList();
+            return new PageImpl<>(postDTOs, pageable, ids.size());
+        });
+    }
+
+    private Page<PostDTO> getCachedNewsFeed(Long userId, Pageable pageable) {
         String newsFeedKey = NEWS_FEED_KEY_PREFIX + userId;
 
         // Redis에서 캐시된 데이터 확인
@@ -244,135 +642,215 @@ public class NewsFeedService {
                 pageable.getOffset() + pageable.getPageSize() - 1
         );
 
+        long totalElements = Optional.ofNullable(redisTemplate.opsForZSet().size(newsFeedKey))
+                .orElse(0L);
+
+        // 캐시된 피드는 최대 newsFeed.max-size 개 -> 캐시 범위를 넘는 페이지는 DB 에서 키셋으로 조회
+        if (totalElements >= feedMaxSize && pageable.getOffset() + pageable.getPageSize() > totalElements) {
+            feedCacheMetrics.recordBeyondCache();
+            return getOlderFeedPage(userId, pageable, newsFeedKey, totalElements);
+        }
+
         // 캐시 미스 또는 캐시 검증 필요
-        if (shouldRefreshCache(userId, newsFeedKey, postIdsObj)) {
-            log.info("Cache refresh needed for user {}, generating from DB", userId);
-            return generateNewsFeedFromDB(userId, pageable, newsFeedKey);
+        String refreshReason = refreshReason(userId, newsFeedKey, postIdsObj);
+        if (refreshReason != null) {
+            feedTracer.trace("newsfeed.refresh", "userId", userId, "reason", refreshReason);
+            feedCacheMetrics.recordRefresh(refreshReason);
+            return generateNewsFeedFromDB(userId, pageable, newsFeedKey, refreshReason);
         }
+        feedCacheMetrics.recordHit();
 
         // 캐시된 데이터 반환
         List<Long> postIds = postIdsObj.stream()
                 .map(obj -> Long.parseLong((String) obj))
                 .toList();
 
-        List<Post> posts = postDAO.findByIdIn(postIds);
-        List<PostDTO> postDTOs = posts.stream()
+        List<PostDTO> postDTOs = feedCacheMetrics.timeHydration("cache", () -> postDAO.findByIdIn(postIds).stream()
                 .map(this::convertToDTO)
-                .toList();
+                .toList());
 
-        long totalElements = Optional.ofNullable(redisTemplate.opsForZSet().size(newsFeedKey))
-                .orElse(0L);
+        return new PageImpl<>(postDTOs, pageable, totalElements);
+    }
 
+    // 캐시된 피드보다 오래된 게시물 페이지 조회
+    // 캐시의 가장 오래된 게시물을 커서로 하여 DB 에서 키셋 조회 (전체 개수는 세지 않음)
+    private Page<PostDTO> getOlderFeedPage(Long userId, Pageable pageable, String newsFeedKey, long cachedSize) {
+        long offset = pageable.getOffset();
+        List<Long> postIds = new ArrayList<>();
+
+        // 페이지가 캐시 범위에 걸쳐 있다면 캐시에 있는 부분은 캐시에서 조회
+        if (offset < cachedSize) {
+            Set<Object> cachedIds = redisTemplate.opsForZSet().reverseRange(newsFeedKey, offset, cachedSize - 1);
+            if (cachedIds != null) {
+                cachedIds.forEach(obj -> postIds.add(Long.parseLong((String) obj)));
+            }
+        }
+
+        // 캐시의 가장 오래된 게시물 -> 키셋 커서
+        Set<Object> oldestCached = redisTemplate.opsForZSet().reverseRange(newsFeedKey, cachedSize - 1, cachedSize - 1);
+        Post cursor = oldestCached == null || oldestCached.isEmpty() ? null :
+                postDAO.findById(Long.parseLong((String) oldestCached.iterator().next())).orElse(null);
+        if (cursor == null) {
+            // 커서 게시물이 삭제된 경우 피드를 다시 생성
+            feedCacheMetrics.recordRefresh(FeedCacheMetrics.REASON_CURSOR_DELETED);
+            return generateNewsFeedFromDB(userId, pageable, newsFeedKey, FeedCacheMetrics.REASON_CURSOR_DELETED);
+        }
+
+        // 커서 이후로 건너뛸 개수 + 이 페이지에서 더 필요한 개수만큼 조회
+        int skip = (int) Math.max(0, offset - cachedSize);
+        int remaining = pageable.getPageSize() - postIds.size();
+        Slice<Long> olderIds = findFeedPostIds(userId, cursor, skip + remaining);
+        olderIds.getContent().stream().skip(skip).forEach(postIds::add);
+
+        List<PostDTO> postDTOs = postIds.isEmpty() ? List.of() : feedCacheMetrics.timeHydration("older_page",
+                () -> postDAO.findByIdIn(postIds).stream()
+                        .map(this::convertToDTO)
+                        .toList());
+
+        // 다음 페이지가 있으면 전체 개수를 현재 페이지보다 크게 설정
+        long totalElements = offset + postDTOs.size() + (olderIds.hasNext() ? 1 : 0);
         return new PageImpl<>(postDTOs, pageable, totalElements);
     }
 
-    private boolean shouldRefreshCache(Long userId, String newsFeedKey, Set<Object> cachedPostIds) {
+    // 뉴스피드 게시물 ID 를 최신순으로 size 개 조회 (before 가 있으면 그보다 오래된 게시물만)
+    // size + 1 개를 조회하여 다음 페이지 여부를 판단 -> COUNT 쿼리 없음
+    private Slice<Long> findFeedPostIds(Long userId, Post before, int size) {
+        List<Long> postIds = before == null ?
+                postDAO.findLatestFeedPostIds(userId, size + 1) :
+                postDAO.findFeedPostIdsBefore(userId, before.getCreatedAt(), before.getId(), size + 1);
+
+        boolean hasNext = postIds.size() > size;
+        return new SliceImpl<>(hasNext ? postIds.subList(0, size) : postIds, PageRequest.of(0, Math.max(1, size)), hasNext);
+    }
+
+    // 캐시를 다시 만들어야 하는 이유 (FeedCacheMetrics.REASON_*), 캐시를 그대로 사용할 수 있으면 null
+    private String refreshReason(Long userId, String newsFeedKey, Set<Object> cachedPostIds) {
         // 캐시가 비어있거나 null인 경우 갱신 필요
         if (cachedPostIds == null || cachedPostIds.isEmpty()) {
-            return true;
+            return FeedCacheMetrics.REASON_EMPTY;
         }
 
         try {
-            // 사용자가 팔로우하는 계정들의 ID 목록 조회
-            // Stream을 사용하여 Following 엔티티에서 ID만 추출
-            List<Long> followingIds = followerDAO.findFollowing(userId).stream()
-                    .map(following -> following.getFollowing().getId())
-                    .collect(Collectors.toList());
-
-            // 자신의 게시물도 피드에 포함되어야 하므로 팔로잉 목록에 자신의 ID도 추가
-            followingIds.add(userId);
-
-            // DB에서 팔로잉하는 사용자들의 최신 게시물 1개만 조회
-            // PageRequest.of(0, 1): 첫 페이지에서 1개만 가져옴
-            Page<Post> latestPosts = postDAO.findByUserIdInOrderByUpdatedAtDesc(
-                    followingIds,
-                    PageRequest.of(0, 1)
-            );
+            // DB에서 팔로잉하는 사용자들(+ 자신)의 최신 게시물 1개만 조회 (Follower 조인, COUNT 없음)
+            Slice<Long> latestPosts = findFeedPostIds(userId, null, 1);
 
             // DB에 게시물이 없는 경우 캐시 갱신 불필요
             if (latestPosts.isEmpty()) {
-                return false;
+                return null;
             }
 
             // 최신 게시물의 ID 추출
-            Post latestPost = latestPosts.getContent().get(0);
-            String latestPostId = latestPost.getId().toString();
+            String latestPostId = latestPosts.getContent().get(0).toString();
 
-            // Redis에서 캐시된 게시물 중 가장 최신 게시물 확인
-            // reverseRange(0, 0): Score가 가장 높은(최신) 항목 1개 조회
-            Set<Object> topCachedPost = redisTemplate.opsForZSet().reverseRange(newsFeedKey, 0, 0);
-
-            // 캐시에 게시물이 없는 경우 갱신 필요
-            if (topCachedPost == null || topCachedPost.isEmpty()) {
-                return true;
-            }
-
-            // 캐시된 최신 게시물의 ID 추출
-            String cachedLatestPostId = (String) topCachedPost.iterator().next();
-
-            // DB의 최신 게시물 ID와 캐시의 최신 게시물 ID 비교
-            // 다르다면 새로운 게시물이 있다는 의미이므로 캐시 갱신 필요
-            return !latestPostId.equals(cachedLatestPostId);
+            // DB의 최신 게시물이 캐시에 있는지 확인 (ZSCORE)
+            // 캐시의 첫 항목과 비교하지 않음 -> 같은 초에 작성된 게시물은 ZSET 에서 ID 문자열 순으로 정렬되어 DB 순서와 다를 수 있음
+            // 없다면 새로운 게시물이 있다는 의미이므로 캐시 갱신 필요
+            return redisTemplate.opsForZSet().score(newsFeedKey, latestPostId) != null ? null : FeedCacheMetrics.REASON_STALE;
 
         } catch (Exception e) {
             // 에러 발생 시 로깅하고, 안전을 위해 캐시 갱신 수행
             log.error("Error checking cache validity for user {}", userId, e);
-            return true;
+            return FeedCacheMetrics.REASON_CHECK_FAILED;
         }
     }
 
 
-    // DB에서 뉴스피드 데이터를 생성하고 Redis에 저장하는 메서드
-    private Page<PostDTO> generateNewsFeedFromDB(Long userId, Pageable pageable, String newsFeedKey) {
-        // 새로운 데이터를 캐시하기 전에 기존 캐시 삭제
-        redisTemplate.delete(newsFeedKey);
+    // 팔로잉하는 작성자들의 타임라인을 병합하여 뉴스피드를 생성하고 Redis에 저장하는 메서드
+    // 요청한 페이지만이 아니라 피드 전체(최대 newsFeed.max-size)를 한 번에 채운다
+    private Page<PostDTO> generateNewsFeedFromDB(Long userId, Pageable pageable, String newsFeedKey, String reason) {
+        List<TypedTuple<Object>> feed = feedCacheMetrics.timeRebuild(userId, reason, () -> rebuildNewsFeed(userId, newsFeedKey));
+
+        // 요청한 페이지에 해당하는 게시물만 조회하여 PostDTO로 변환
+        List<Long> postIds = feed.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(entry -> Long.parseLong((String) entry.getValue()))
+                .toList();
+
+        List<PostDTO> postDTOs = postIds.isEmpty() ? List.of() : feedCacheMetrics.timeHydration("rebuild",
+                () -> postDAO.findByIdIn(postIds).stream()
+                        .map(this::convertToDTO)
+                        .toList());
+
+        // DTO 리스트를 페이징 정보와 함께 반환
+        return new PageImpl<>(postDTOs, pageable, feed.size());
+    }
 
-        // 사용자가 팔로우하는 계정들의 ID 목록 조회
-        // Stream API를 사용하여 Following 엔티티에서 팔로잉하는 사용자의 ID만 추출
-        List<Long> followingIds = followerDAO.findFollowing(userId).stream()
-                .map(following -> following.getFollowing().getId())
-                .collect(Collectors.toList());
+    // 타임라인을 병합한 피드 전체를 Redis 에 저장하고 반환
+    private List<TypedTuple<Object>> rebuildNewsFeed(Long userId, String newsFeedKey) {
+        // 사용자가 팔로우하는 계정들의 ID 목록 조회 (ID 만 조회, User 엔티티 로딩 없음)
+        List<Long> followingIds = new ArrayList<>(followerDAO.findFollowingIds(userId));
 
         // 자신의 게시물도 피드에 포함되어야 하므로 팔로잉 목록에 자신의 ID 추가
         followingIds.add(userId);
 
-        // DB에서 팔로잉하는 사용자들의 게시물을 최신순으로 조회
-        // pageable 파라미터를 통해 페이지 크기와 offset이 지정됨
-        Page<Post> postsPage = postDAO.findByUserIdInOrderByUpdatedAtDesc(followingIds, pageable);
+        // 작성자별 타임라인 조회 (Redis 파이프라인 1회, 캐시에 없는 작성자만 DB 에서 채움)
+        Map<Long, List<TypedTuple<Object>>> timelines = timelineService.getTimelines(followingIds);
 
-        // 조회된 게시물들을 Redis Sorted Set에 캐시
-        postsPage.getContent().forEach(post -> {
-            // 정렬 기준이 될 타임스탬프 결정 (수정시간 우선, 없으면 생성시간 사용)
-            LocalDateTime timeStamp = post.getUpdatedAt() != null ?
-                    post.getUpdatedAt() :
-                    post.getCreatedAt();
+        // 최신순으로 정렬된 타임라인들을 k-way merge 하여 피드 최대 크기만큼 선택
+        List<TypedTuple<Object>> feed = mergeTimelines(timelines.values(), feedMaxSize);
 
-            // LocalDateTime을 Unix timestamp(초)로 변환하여 score로 사용
-            double score = timeStamp
-                    .atZone(ZoneId.systemDefault())  // 시스템 기본 시간대 적용
-                    .toInstant()                     // Instant 객체로 변환
-                    .getEpochSecond();               // 초 단위 epoch 시간 추출
+        // 기존 캐시를 삭제하고 병합한 피드 전체를 한 번의 ZADD 로 저장
+        redisTemplate.delete(newsFeedKey);
+        if (!feed.isEmpty()) {
+            redisTemplate.opsForZSet().add(newsFeedKey, new HashSet<>(feed));
+            // 캐시의 만료 시간 설정 (TTL)
+            redisTemplate.expire(newsFeedKey, CACHE_TTL_HOURS, TimeUnit.HOURS);
+        }
+        bumpFeedVersion(userId);
+        feedTracer.trace("newsfeed.rebuilt", "userId", userId, "posts", feed.size(), "timelines", timelines.size());
+        return feed;
+    }
 
-            // Redis Sorted Set에 게시물 추가
-            // 키: 뉴스피드 키, 값: 게시물ID, score: 타임스탬프
-            redisTemplate.opsForZSet().add(newsFeedKey, post.getId().toString(), score);
-            log.info("Added post {} to cache for user {} with score {}", post.getId(), userId, score);
-        });
+    // 최신순으로 정렬된 여러 타임라인을 하나의 최신순 목록으로 병합 (최대 limit 개)
+    // 우선순위 큐에는 각 타임라인의 현재 위치 {타임라인 번호, 인덱스} 를 저장 -> O(limit * log k)
+    private static List<TypedTuple<Object>> mergeTimelines(Collection<List<TypedTuple<Object>>> timelines, int limit) {
+        List<List<TypedTuple<Object>>> lists = new ArrayList<>(timelines);
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> TimelineService.NEWEST_FIRST.compare(
+                lists.get(a[0]).get(a[1]), lists.get(b[0]).get(b[1])));
 
-        // 캐시의 만료 시간 설정 (TTL)
-        redisTemplate.expire(newsFeedKey, CACHE_TTL_HOURS, TimeUnit.HOURS);
+        for (int i = 0; i < lists.size(); i++) {
+            if (!lists.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
 
-        // Post 엔티티를 PostDTO로 변환
-        // 최신 Java 버전의 Stream.toList() 사용
-        List<PostDTO> postDTOs = postsPage.getContent().stream()
+        List<TypedTuple<Object>> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            int[] head = heads.poll();
+            List<TypedTuple<Object>> timeline = lists.get(head[0]);
+            merged.add(timeline.get(head[1]));
+            if (head[1] + 1 < timeline.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return merged;
+    }
+
+    // 특정 사용자가 작성한 게시글을 최신순으로 조회 (프로필 페이지)
+    // 타임라인 범위 안의 페이지는 Redis 에서, 범위를 벗어난 페이지는 DB 에서 조회
+    public Page<PostDTO> getUserPosts(Long userId, Pageable pageable) {
+        long totalElements = userStatsService.getStats(userId).getPostCount();
+
+        long start = pageable.getOffset();
+        long end = start + pageable.getPageSize() - 1;
+        if (end >= timelineService.getMaxSize()) {
+            return new PageImpl<>(postDAO.findRecentByUserId(userId, pageable), pageable, totalElements);
+        }
+
+        List<Long> postIds = timelineService.getTimeline(userId, start, end).stream()
+                .map(entry -> Long.parseLong((String) entry.getValue()))
+                .toList();
+
+        List<PostDTO> postDTOs = postIds.isEmpty() ? List.of() : postDAO.findByIdIn(postIds).stream()
                 .map(this::convertToDTO)
                 .toList();
 
-        // DTO 리스트를 페이징 정보와 함께 반환
-        return new PageImpl<>(postDTOs, pageable, postsPage.getTotalElements());
+        return new PageImpl<>(postDTOs, pageable, totalElements);
     }
+
     // Post 엔티티 -> PostDTO 변환하는 메서드
-    private PostDTO convertToDTO(Post post) {
+    PostDTO convertToDTO(Post post) {
         User user = post.getUser();
         UserDTO userDTO = new UserDTO(user.getId(), user.getUserName(), user.getEmail()); // 사용자 정보 변환
         return new PostDTO(post.getId(), post.getCaption(), post.getCreatedAt(), post.getUpdatedAt(), userDTO); // PostDTO 객체 생성 및 반환
@@ -1,13 +1,18 @@
 package instagram_join.demo.service;
 
+import instagram_join.demo.dto.PostDTO;
 import instagram_join.demo.entity.Post;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 public interface PostService {
 
-    List<Post> findAll();
+    List<PostDTO> findPage(Long afterId, int size);
+
+    void exportAll(OutputStream out) throws IOException;
 
     Optional<Post> findById(Long id);
 
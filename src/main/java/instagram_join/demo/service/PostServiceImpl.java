@@ -1,30 +1,56 @@
 package instagram_join.demo.service;
 
+import instagram_join.demo.config.RedisCircuitBreaker;
 import instagram_join.demo.dao.LikesDAO;
 import instagram_join.demo.dao.PostDAO;
+import instagram_join.demo.dto.PostDTO;
 import instagram_join.demo.entity.Post;
-import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 public class PostServiceImpl implements PostService {
 
     private final PostDAO postDAO;
     private final LikesDAO likesDAO;
     private final NewsFeedService newsFeedService;
+    private final TimelineService timelineService;
+    private final UserStatsService userStatsService;
+    private final NdjsonWriter ndjsonWriter;
+    private final RedisCircuitBreaker redisCircuitBreaker;
 
-    public PostServiceImpl(PostDAO postDAO, LikesDAO likesDAO, NewsFeedService newsFeedService) {
+    public PostServiceImpl(PostDAO postDAO, LikesDAO likesDAO, NewsFeedService newsFeedService,
+                           TimelineService timelineService, UserStatsService userStatsService,
+                           NdjsonWriter ndjsonWriter, RedisCircuitBreaker redisCircuitBreaker) {
         this.postDAO = postDAO;
         this.likesDAO = likesDAO;
         this.newsFeedService = newsFeedService;
+        this.timelineService = timelineService;
+        this.userStatsService = userStatsService;
+        this.ndjsonWriter = ndjsonWriter;
+        this.redisCircuitBreaker = redisCircuitBreaker;
     }
 
     @Override
-    public List<Post> findAll() {
-        return postDAO.findAll();
+    public List<PostDTO> findPage(Long afterId, int size) {
+        return postDAO.findPageAfter(afterId, PageRequest.of(0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true) // 스트리밍 결과는 트랜잭션(커넥션)이 열려있는 동안만 읽을 수 있음
+    public void exportAll(OutputStream out) throws IOException {
+        try (Stream<PostDTO> posts = postDAO.streamAll()) {
+            ndjsonWriter.write(posts, out);
+        }
     }
 
     @Override
@@ -35,10 +61,16 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional
     public Post save(Post thePost) {
+        boolean isNewPost = thePost.getId() == null;
 
         // 게시글 DB 저장
         Post savedPost = postDAO.save(thePost);
 
+        // 새 게시글이면 작성자의 게시글 수 증가
+        if (isNewPost) {
+            userStatsService.onPostCountChanged(savedPost.getUser().getId(), 1);
+        }
+
         // Fan-out 작업은 메시지 큐에 등록만 함 (비동기 처리)
         newsFeedService.enqueueFanOutPost(savedPost);
         return savedPost;
@@ -47,8 +79,12 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional
     public void deleteById(Long id) {
-        // 뉴스피드에서 게시글 제거
-        newsFeedService.removePostFromNewsFeeds(id);
+        // 작성자의 게시글 수 감소, 작성자의 타임라인 / 작성자와 팔로워의 뉴스피드에서 게시글 제거
+        postDAO.findAuthorIdById(id)
+                .ifPresent(authorId -> {
+                    userStatsService.onPostCountChanged(authorId, -1);
+                    removeFromFeeds(authorId, List.of(id));
+                });
         // 종아요 삭제
         likesDAO.deleteLikesByPostId(id);
         // 게시글 삭제
@@ -58,17 +94,33 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional
     public void deleteByUserId(Long userId) {
-        // 유저 ID로 해당 유저의 모든 게시글을 조회
-        List<Post> posts = postDAO.findAllPostsByUserId(userId);
-
-        // 각 게시글에 대한 좋아요 삭제 후 게시글 삭제
-        for (Post post : posts) {
-            // 뉴스피드에서 게시글 제거
-            newsFeedService.removePostFromNewsFeeds(post.getId());
-            // 좋아요 삭제
-            likesDAO.deleteLikesByPostId(post.getId());
-            // 게시글 삭제
-            postDAO.delete(post);
+        // 유저 ID로 해당 유저의 모든 게시글 ID 를 조회
+        List<Long> postIds = postDAO.findIdsByUserId(userId);
+        if (postIds.isEmpty()) {
+            return;
         }
+
+        // 타임라인 / 뉴스피드에서 게시글 제거 (작성자 + 팔로워의 피드, 한 번에)
+        removeFromFeeds(userId, postIds);
+
+        // 게시글들의 좋아요 삭제 후 게시글 삭제 (게시글 수와 관계없이 각각 DELETE 1회)
+        likesDAO.deleteLikesByPostAuthorId(userId);
+        postDAO.deleteByUserId(userId);
+
+        // 작성자의 게시글 수 감소
+        userStatsService.onPostCountChanged(userId, -postIds.size());
+    }
+
+    // 작성자의 타임라인과 작성자 / 팔로워의 뉴스피드에서 게시글 제거
+    // Redis 장애 중에는 건너뜀 -> 게시글 삭제는 그대로 진행 (피드에 남은 ID 는 조회 시 DB 에 없으므로 응답에서 빠짐)
+    private void removeFromFeeds(Long authorId, List<Long> postIds) {
+        redisCircuitBreaker.execute(() -> {
+            timelineService.removePosts(authorId, postIds);
+            newsFeedService.removePostsFromNewsFeeds(authorId, postIds);
+            return null;
+        }, () -> {
+            log.warn("Redis unavailable - posts {} stay in cached feeds until they are rebuilt", postIds);
+            return null;
+        });
     }
 }
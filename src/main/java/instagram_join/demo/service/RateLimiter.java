@@ -0,0 +1,135 @@
+package instagram_join.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import instagram_join.demo.config.RedisCircuitBreaker;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 사용자별 / 엔드포인트별 토큰 버킷 (상태는 Redis, 모든 노드가 공유)
+// - 요청마다 Lua 스크립트로 버킷을 원자적으로 갱신 (토큰 보충 + 차감, 시각은 Redis TIME 사용 -> 노드 간 시계 차이 무관)
+// - 거절된 클라이언트는 다음 토큰이 생길 때까지 로컬에서 바로 거절 (Redis 호출 없음)
+// - Redis 장애(서킷 open) 중에는 노드별 로컬 버킷으로 제한
+@Component
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+    // - 키: ratelimit:{제한 이름}:{클라이언트}
+
+    // KEYS[1]: 버킷 키, ARGV[1]: 용량, ARGV[2]: 초당 보충 토큰 수
+    // 반환: {허용 여부(1/0), 다음 토큰까지 남은 시간(ms)}
+    private static final RedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+            local allowed = 0
+            local retryAfter = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            else
+                retryAfter = math.ceil((1 - tokens) * 1000 / rate)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+            return {allowed, retryAfter}
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final Environment environment;
+
+    // 제한 이름 -> 설정 (rate-limit.{name}.*)
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    // 로컬 fast path: 거절된 클라이언트 -> 다시 요청할 수 있는 시각(ms)
+    private final Cache<String, Long> deniedUntil = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    // Redis 장애 중 사용하는 로컬 버킷
+    private final Cache<String, LocalBucket> localBuckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    public RateLimiter(StringRedisTemplate stringRedisTemplate, RedisCircuitBreaker redisCircuitBreaker,
+                       Environment environment) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.environment = environment;
+    }
+
+    // 요청 하나를 허용하면 0, 거절하면 다시 요청할 수 있을 때까지 남은 시간(ms)
+    public long tryAcquire(String name, String client) {
+        String key = KEY_PREFIX + name + ":" + client;
+        long now = System.currentTimeMillis();
+        Long until = deniedUntil.getIfPresent(key);
+        if (until != null && until > now) {
+            return until - now;
+        }
+
+        Limit limit = limits.computeIfAbsent(name, this::loadLimit);
+        long retryAfterMillis = redisCircuitBreaker.execute(
+                () -> acquireFromRedis(key, limit),
+                () -> localBuckets.get(key, k -> new LocalBucket(limit)).tryAcquire(limit));
+        if (retryAfterMillis > 0) {
+            deniedUntil.put(key, now + retryAfterMillis);
+        }
+        return retryAfterMillis;
+    }
+
+    private long acquireFromRedis(String key, Limit limit) {
+        List<?> result = stringRedisTemplate.execute(TOKEN_BUCKET, List.of(key),
+                String.valueOf(limit.capacity()), String.valueOf(limit.refillPerSecond()));
+        if (result == null || ((Number) result.get(0)).longValue() == 1) {
+            return 0;
+        }
+        return Math.max(1, ((Number) result.get(1)).longValue());
+    }
+
+    private Limit loadLimit(String name) {
+        return new Limit(
+                environment.getRequiredProperty("rate-limit." + name + ".capacity", Double.class),
+                environment.getRequiredProperty("rate-limit." + name + ".refill-per-second", Double.class));
+    }
+
+    private record Limit(double capacity, double refillPerSecond) {
+    }
+
+    // Lua 스크립트와 같은 토큰 버킷 (노드 로컬)
+    private static final class LocalBucket {
+
+        private double tokens;
+        private long updatedAt = System.currentTimeMillis();
+
+        private LocalBucket(Limit limit) {
+            this.tokens = limit.capacity();
+        }
+
+        private synchronized long tryAcquire(Limit limit) {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(limit.capacity(), tokens + (now - updatedAt) * limit.refillPerSecond() / 1000);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * 1000 / limit.refillPerSecond());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.config.RedisCircuitBreaker;
+import instagram_join.demo.dao.PostDAO;
+import instagram_join.demo.dto.PostDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// 논블로킹 뉴스피드 조회 경로
+// - 서로 독립적인 Redis 조회(페이지 범위, 전체 개수)를 reactive 명령으로 동시에 실행
+// - 남은 JDBC 작업(최신 게시물 확인, 게시물 조회)은 크기가 제한된 스케줄러에서 실행 -> 요청 스레드를 점유하지 않음
+// - 캐시 미스, 캐시 범위를 넘는 페이지처럼 드문 경우는 기존 NewsFeedService.getNewsFeed 를 같은 스케줄러에서 실행
+@Service
+public class ReactiveNewsFeedService {
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final PostDAO postDAO;
+    private final NewsFeedService newsFeedService;
+    private final FeedCacheMetrics feedCacheMetrics;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+
+    // 뉴스피드 캐시에 유지하는 최대 게시물 수
+    private final int feedMaxSize;
+
+    // JDBC 전용 스케줄러 -> 스레드 수는 커넥션 풀 크기에 맞추고, 넘치는 작업은 큐에서 대기 (큐가 가득 차면 거절)
+    private final Scheduler jdbcScheduler;
+
+    public ReactiveNewsFeedService(ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
+                                   PostDAO postDAO,
+                                   NewsFeedService newsFeedService,
+                                   FeedCacheMetrics feedCacheMetrics,
+                                   RedisCircuitBreaker redisCircuitBreaker,
+                                   @Value("${newsFeed.max-size}") int feedMaxSize,
+                                   @Value("${newsFeed.reactive.jdbc-threads}") int jdbcThreads,
+                                   @Value("${newsFeed.reactive.jdbc-queue-capacity}") int jdbcQueueCapacity) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.postDAO = postDAO;
+        this.newsFeedService = newsFeedService;
+        this.feedCacheMetrics = feedCacheMetrics;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.feedMaxSize = feedMaxSize;
+        this.jdbcScheduler = Schedulers.newBoundedElastic(jdbcThreads, jdbcQueueCapacity, "newsfeed-jdbc");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jdbcScheduler.dispose();
+    }
+
+    // 사용자의 뉴스 피드 조회 (NewsFeedService.getNewsFeed 와 같은 결과)
+    // Redis 장애(서킷 open 또는 Redis 오류) 시 NewsFeedService 의 대체 경로로 조회
+    public Mono<Page<PostDTO>> getNewsFeed(Long userId, Pageable pageable) {
+        if (redisCircuitBreaker.isOpen()) {
+            return blocking(() -> newsFeedService.getDegradedNewsFeed(userId, pageable));
+        }
+        String newsFeedKey = NewsFeedService.NEWS_FEED_KEY_PREFIX + userId;
+        long start = pageable.getOffset();
+        long end = start + pageable.getPageSize() - 1;
+
+        // 두 개의 Redis 명령을 동시에 실행 (ZREVRANGE 페이지, ZCARD)
+        Mono<List<Long>> pageIds = reactiveRedisTemplate.opsForZSet()
+                .reverseRange(newsFeedKey, Range.closed(start, end))
+                .map(member -> Long.parseLong((String) member))
+                .collectList();
+        Mono<Long> totalElements = reactiveRedisTemplate.opsForZSet()
+                .size(newsFeedKey)
+                .defaultIfEmpty(0L);
+
+        Mono<Page<PostDTO>> feed = Mono.zip(pageIds, totalElements).flatMap(cached -> {
+            redisCircuitBreaker.recordSuccess();
+            List<Long> postIds = cached.getT1();
+            long total = cached.getT2();
+
+            // 캐시 범위를 넘는 페이지 -> DB 키셋 조회
+            // 캐시 미스 / 재생성 메트릭은 위임한 NewsFeedService.getNewsFeed 에서 기록
+            if (total >= feedMaxSize && pageable.getOffset() + pageable.getPageSize() > total) {
+                return blocking(() -> newsFeedService.getNewsFeed(userId, pageable));
+            }
+
+            // 캐시 미스 -> 피드 재생성
+            if (postIds.isEmpty()) {
+                return blocking(() -> newsFeedService.getNewsFeed(userId, pageable));
+            }
+
+            // 캐시 검증 (DB 의 최신 게시물이 캐시에 있는지 ZSCORE 로 확인) -> 없으면 재생성, 있으면 게시물 조회
+            return blocking(() -> postDAO.findLatestFeedPostIds(userId, 1))
+                    .flatMap(latest -> latest.isEmpty() ? Mono.just(true) : reactiveRedisTemplate.opsForZSet()
+                            .score(newsFeedKey, latest.get(0).toString())
+                            .map(score -> true)
+                            .defaultIfEmpty(false))
+                    .flatMap(fresh -> blocking(() -> {
+                        if (!fresh) {
+                            return newsFeedService.getNewsFeed(userId, pageable);
+                        }
+
+                        feedCacheMetrics.recordHit();
+                        List<PostDTO> postDTOs = feedCacheMetrics.timeHydration("cache", () -> postDAO.findByIdIn(postIds).stream()
+                                .map(newsFeedService::convertToDTO)
+                                .toList());
+                        return new PageImpl<>(postDTOs, pageable, total);
+                    }));
+        });
+        return feed.onErrorResume(RedisCircuitBreaker::isRedisFailure, e -> {
+            redisCircuitBreaker.recordFailure(e);
+            return blocking(() -> newsFeedService.getDegradedNewsFeed(userId, pageable));
+        });
+    }
+
+    // 블로킹 작업을 JDBC 스케줄러에서 실행
+    private <T> Mono<T> blocking(Callable<T> task) {
+        return Mono.fromCallable(task).subscribeOn(jdbcScheduler);
+    }
+}
@@ -0,0 +1,183 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.dao.PostDAO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// 작성자별 최신 게시글 타임라인 (Redis Sorted Set)
+// - 키: timeline:{authorId}, 값: 게시물ID, score: 작성 시각 (Unix timestamp, 초) -> 뉴스피드 캐시와 같은 기준
+// - 작성자당 최대 timeline.max-size 개만 유지
+// - 뉴스피드 재생성(k-way merge)과 프로필 게시글 조회에 사용
+@Slf4j
+@Service
+public class TimelineService {
+
+    private static final String TIMELINE_KEY_PREFIX = "timeline:";
+
+    private static final long TIMELINE_TTL_DAYS = 7;
+    // - 활동이 없는 작성자의 타임라인은 7일 후 만료
+
+    private static final int WARM_BATCH_SIZE = 100;
+    // - 타임라인이 없는 작성자들을 DB 에서 한 번에 채울 때 사용하는 묶음 크기
+
+    // 최신순 정렬 (점수가 같으면 게시물 ID 가 큰 것이 먼저)
+    public static final Comparator<TypedTuple<Object>> NEWEST_FIRST = Comparator
+            .comparing((TypedTuple<Object> entry) -> entry.getScore(), Comparator.reverseOrder())
+            .thenComparing(entry -> Long.parseLong((String) entry.getValue()), Comparator.reverseOrder());
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final PostDAO postDAO;
+
+    // 작성자별 타임라인 최대 크기
+    @Value("${timeline.max-size}")
+    private int maxSize;
+
+    public TimelineService(RedisTemplate<String, Object> redisTemplate, PostDAO postDAO) {
+        this.redisTemplate = redisTemplate;
+        this.postDAO = postDAO;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    // 새 게시글을 작성자의 타임라인에 추가
+    // 타임라인이 아직 없다면 추가하지 않음 -> 처음 조회할 때 DB 에서 전체를 채움
+    public void addPost(Long authorId, Long postId, double score) {
+        String key = TIMELINE_KEY_PREFIX + authorId;
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            return;
+        }
+        redisTemplate.opsForZSet().add(key, postId.toString(), score);
+        // 점수가 낮은(오래된) 항목부터 제거하여 최대 크기 유지
+        redisTemplate.opsForZSet().removeRange(key, 0, -(maxSize + 1));
+        redisTemplate.expire(key, TIMELINE_TTL_DAYS, TimeUnit.DAYS);
+    }
+
+    public void removePost(Long authorId, Long postId) {
+        removePosts(authorId, List.of(postId));
+    }
+
+    public void removePosts(Long authorId, List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForZSet().remove(TIMELINE_KEY_PREFIX + authorId,
+                postIds.stream().map(String::valueOf).toArray());
+    }
+
+    // 한 작성자의 타임라인 일부 조회 (최신순)
+    public List<TypedTuple<Object>> getTimeline(Long authorId, long start, long end) {
+        String key = TIMELINE_KEY_PREFIX + authorId;
+        Set<TypedTuple<Object>> entries = redisTemplate.opsForZSet().reverseRangeWithScores(key, start, end);
+        if (entries != null && !entries.isEmpty()) {
+            return new ArrayList<>(entries);
+        }
+
+        // 타임라인이 존재하는데 비어있다면 요청 범위를 벗어난 것
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            return List.of();
+        }
+
+        // 타임라인이 없으면 DB 에서 채운 뒤 요청 범위만 반환
+        return warmFromDB(List.of(authorId)).get(authorId).stream()
+                .skip(start)
+                .limit(Math.max(0, end - start + 1))
+                .toList();
+    }
+
+    // 여러 작성자의 타임라인을 한 번의 파이프라인으로 조회 (각 목록은 최신순)
+    // 캐시에 없는 작성자의 타임라인은 DB 에서 채운다
+    public Map<Long, List<TypedTuple<Object>>> getTimelines(List<Long> authorIds) {
+        RedisSerializer<String> keySerializer = RedisSerializer.string();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long authorId : authorIds) {
+                connection.zSetCommands().zRevRangeWithScores(
+                        keySerializer.serialize(TIMELINE_KEY_PREFIX + authorId), 0, maxSize - 1);
+            }
+            return null;
+        });
+
+        Map<Long, List<TypedTuple<Object>>> timelines = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < authorIds.size(); i++) {
+            @SuppressWarnings("unchecked")
+            Collection<TypedTuple<Object>> entries = (Collection<TypedTuple<Object>>) results.get(i);
+            if (entries == null || entries.isEmpty()) {
+                missing.add(authorIds.get(i));
+            } else {
+                timelines.put(authorIds.get(i), new ArrayList<>(entries));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            timelines.putAll(warmFromDB(missing));
+        }
+        return timelines;
+    }
+
+    // DB 에서 작성자별 최신 게시글을 조회하여 타임라인을 채움
+    private Map<Long, List<TypedTuple<Object>>> warmFromDB(List<Long> authorIds) {
+        Map<Long, List<TypedTuple<Object>>> timelines = new HashMap<>();
+        authorIds.forEach(authorId -> timelines.put(authorId, new ArrayList<>()));
+
+        for (int from = 0; from < authorIds.size(); from += WARM_BATCH_SIZE) {
+            List<Long> batch = authorIds.subList(from, Math.min(from + WARM_BATCH_SIZE, authorIds.size()));
+            for (Object[] row : postDAO.findRecentPostsByUserIds(batch, maxSize)) {
+                long postId = ((Number) row[0]).longValue();
+                long authorId = ((Number) row[1]).longValue();
+                timelines.get(authorId).add(new DefaultTypedTuple<>(String.valueOf(postId), score(toLocalDateTime(row[2]))));
+            }
+        }
+
+        // 게시글이 있는 작성자의 타임라인만 Redis 에 저장
+        RedisSerializer<String> keySerializer = RedisSerializer.string();
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            timelines.forEach((authorId, entries) -> {
+                if (entries.isEmpty()) {
+                    return;
+                }
+                byte[] key = keySerializer.serialize(TIMELINE_KEY_PREFIX + authorId);
+                Set<Tuple> tuples = new HashSet<>();
+                for (TypedTuple<Object> entry : entries) {
+                    tuples.add(Tuple.of(valueSerializer.serialize(entry.getValue()), entry.getScore()));
+                }
+                connection.zSetCommands().zAdd(key, tuples);
+                connection.keyCommands().expire(key, TimeUnit.DAYS.toSeconds(TIMELINE_TTL_DAYS));
+            });
+            return null;
+        });
+
+        // DB 조회 결과는 작성자별로 최신순 정렬되어 있지 않으므로 정렬
+        timelines.values().forEach(entries -> entries.sort(NEWEST_FIRST));
+        log.debug("Warmed {} author timelines from DB", authorIds.size());
+        return timelines;
+    }
+
+    // LocalDateTime 을 Unix timestamp(초)로 변환하여 score 로 사용
+    public static double score(LocalDateTime timestamp) {
+        return timestamp
+                .atZone(ZoneId.systemDefault())  // 시스템 기본 시간대 적용
+                .toInstant()                     // Instant 객체로 변환
+                .getEpochSecond();               // 초 단위 epoch 시간 추출
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
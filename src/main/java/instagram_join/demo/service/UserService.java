@@ -1,13 +1,18 @@
 package instagram_join.demo.service;
 
+import instagram_join.demo.dto.UserDTO;
 import instagram_join.demo.entity.User;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserService {
 
-    List<User> findAll();
+    List<UserDTO> findPage(Long afterId, int size);
+
+    void exportAll(OutputStream out) throws IOException;
 
     Optional<User> findById(Long id);
 
@@ -15,5 +20,7 @@ public interface UserService {
 
     User save(User theUser);
 
+    User update(Long id, String userName, String email, String encodedPassword);
+
     void deleteById(Long id);
 }
@@ -1,56 +1,148 @@
 package instagram_join.demo.service;
 
 import instagram_join.demo.dao.UserDAO;
+import instagram_join.demo.dto.UserDTO;
 import instagram_join.demo.entity.User;
-import jakarta.transaction.Transactional;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    // 사용자 프로필 조회용 캐시 이름 (로컬 + Redis 2단계 캐시)
+    public static final String USER_BY_ID_CACHE = "userById";
+    public static final String USER_BY_EMAIL_CACHE = "userByEmail";
+
     private final UserDAO userDAO;
     private final PostService postService;
-    private final PasswordEncoder passwordEncoder;
+    private final CacheManager cacheManager;
+    private final NdjsonWriter ndjsonWriter;
 
-    public UserServiceImpl(UserDAO userDAO, PostService postService, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserDAO userDAO, PostService postService, CacheManager cacheManager,
+                           NdjsonWriter ndjsonWriter) {
         this.userDAO = userDAO;
         this.postService = postService;
-        this.passwordEncoder = passwordEncoder;
+        this.cacheManager = cacheManager;
+        this.ndjsonWriter = ndjsonWriter;
     }
 
     @Override
-    public List<User> findAll() {
-        return userDAO.findAll();
+    public List<UserDTO> findPage(Long afterId, int size) {
+        return userDAO.findPageAfter(afterId, PageRequest.of(0, size));
     }
 
     @Override
+    @Transactional(readOnly = true) // 스트리밍 결과는 트랜잭션(커넥션)이 열려있는 동안만 읽을 수 있음
+    public void exportAll(OutputStream out) throws IOException {
+        try (Stream<UserDTO> users = userDAO.streamAll()) {
+            ndjsonWriter.write(users, out);
+        }
+    }
+
+    @Override
+    @Cacheable(cacheNames = USER_BY_ID_CACHE, key = "#id", unless = "#result == null")
     public Optional<User> findById(Long id) {
         return userDAO.findById(id);
     }
 
     @Override
+    @Cacheable(cacheNames = USER_BY_EMAIL_CACHE, key = "#email", unless = "#result == null")
     public Optional<User> findByEmail(String email) {
         return userDAO.findByEmail(email);
     }
 
+    // 비밀번호는 PasswordHashingService 로 해싱된 상태로 전달되어야 한다
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USER_BY_ID_CACHE, key = "#theUser.id", condition = "#theUser.id != null"),
+            @CacheEvict(cacheNames = USER_BY_EMAIL_CACHE, key = "#theUser.email", condition = "#theUser.email != null")
+    })
     public User save(User theUser) {
-        theUser.setPassword(passwordEncoder.encode(theUser.getPassword()));
+        // 이메일이 변경된 경우 이전 이메일로 캐시된 항목도 제거
+        if (theUser.getId() != null) {
+            userDAO.findById(theUser.getId())
+                    .map(User::getEmail)
+                    .filter(oldEmail -> !oldEmail.equals(theUser.getEmail()))
+                    .ifPresent(this::evictByEmail);
+        }
+
         return userDAO.save(theUser);
     }
 
+    // 캐시에 들어있는 User 인스턴스는 다른 요청과 공유되므로 수정하지 않고, 영속 상태의 엔티티를 조회하여 변경
+    // 캐시는 커밋된 후에 제거 -> 롤백되면 캐시에는 변경 전 값이 그대로 남음
+    @Override
+    @Transactional
+    public User update(Long id, String userName, String email, String encodedPassword) {
+        User user = userDAO.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User id not found: " + id));
+        String oldEmail = user.getEmail();
+
+        user.setUserName(userName);
+        user.setEmail(email);
+        user.setPassword(encodedPassword);
+
+        afterCommit(() -> {
+            evict(USER_BY_ID_CACHE, id);
+            evictByEmail(oldEmail);
+            evictByEmail(email);
+        });
+        return user;
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = USER_BY_ID_CACHE, key = "#userId")
     public void deleteById(Long userId) {
 
+        userDAO.findById(userId)
+                .map(User::getEmail)
+                .ifPresent(this::evictByEmail);
+
         // 해당 사용자의 게시글을 삭제
         postService.deleteByUserId(userId);
         // 사용자 삭제
         userDAO.deleteById(userId);
     }
+
+    private void evictByEmail(String email) {
+        evict(USER_BY_EMAIL_CACHE, email);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,117 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.dao.UserDAO;
+import instagram_join.demo.dao.UserStatsDAO;
+import instagram_join.demo.entity.UserStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// UserStats 카운터 보정 작업
+// 증감 방식의 카운터는 실패/중복 요청 등으로 실제 값과 차이가 생길 수 있으므로
+// 주기적으로 실제 개수를 집계하여 다른 값만 수정한다
+@Slf4j
+@Service
+public class UserStatsReconciler {
+
+    private static final String LOCK_KEY = "userstats:reconcile:lock";
+    // - 여러 노드가 동시에 보정 작업을 실행하지 않도록 사용하는 Redis 락
+
+    private static final Duration LOCK_TTL = Duration.ofMinutes(30);
+
+    private final UserDAO userDAO;
+    private final UserStatsDAO userStatsDAO;
+    private final UserStatsService userStatsService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 한 번에 보정할 사용자 수
+    @Value("${userStats.reconcile.batch-size:500}")
+    private int batchSize;
+
+    public UserStatsReconciler(UserDAO userDAO, UserStatsDAO userStatsDAO, UserStatsService userStatsService,
+                               StringRedisTemplate stringRedisTemplate, TransactionTemplate transactionTemplate) {
+        this.userDAO = userDAO;
+        this.userStatsDAO = userStatsDAO;
+        this.userStatsService = userStatsService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "${userStats.reconcile.cron}")
+    public void reconcile() {
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", LOCK_TTL);
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("User stats reconciliation is already running on another node");
+            return;
+        }
+
+        try {
+            long afterId = 0L;
+            int fixed = 0;
+            List<Long> userIds;
+            // 사용자 ID 를 키셋 방식으로 나누어 배치 단위로 보정
+            while (!(userIds = userDAO.findIdsAfter(afterId, PageRequest.of(0, batchSize))).isEmpty()) {
+                List<Long> batch = userIds;
+                fixed += transactionTemplate.execute(status -> reconcileBatch(batch));
+                afterId = userIds.get(userIds.size() - 1);
+            }
+            log.info("User stats reconciliation finished, {} users corrected", fixed);
+        } catch (Exception e) {
+            log.error("User stats reconciliation failed", e);
+        } finally {
+            stringRedisTemplate.delete(LOCK_KEY);
+        }
+    }
+
+    // 카운터 행을 먼저 잠근 뒤 집계 -> 잠금 이후의 스냅샷으로 집계하므로 그 사이 커밋된 증감도 집계에 포함되고,
+    // 아직 커밋되지 않은 증감은 보정이 끝난 뒤 보정된 값에 더해짐
+    private int reconcileBatch(List<Long> userIds) {
+        Map<Long, UserStats> existing = userStatsDAO.findAllByIdForUpdate(userIds).stream()
+                .collect(Collectors.toMap(UserStats::getUserId, Function.identity()));
+
+        Map<Long, Long> followerCounts = toMap(userStatsDAO.countFollowers(userIds));
+        Map<Long, Long> followingCounts = toMap(userStatsDAO.countFollowing(userIds));
+        Map<Long, Long> postCounts = toMap(userStatsDAO.countPosts(userIds));
+
+        List<Long> changed = new ArrayList<>();
+        for (Long userId : userIds) {
+            UserStats stats = existing.get(userId);
+            long followers = followerCounts.getOrDefault(userId, 0L);
+            long following = followingCounts.getOrDefault(userId, 0L);
+            long posts = postCounts.getOrDefault(userId, 0L);
+
+            if (stats == null || stats.getFollowerCount() != followers
+                    || stats.getFollowingCount() != following || stats.getPostCount() != posts) {
+                userStatsDAO.setCounts(userId, followers, following, posts);
+                changed.add(userId);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            userStatsService.evictAfterCommit(changed);
+        }
+        return changed.size();
+    }
+
+    // [userId, count] 목록 -> Map
+    private Map<Long, Long> toMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+}
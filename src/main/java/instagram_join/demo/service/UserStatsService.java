@@ -0,0 +1,72 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.dao.UserStatsDAO;
+import instagram_join.demo.entity.UserStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+// 사용자별 팔로워/팔로잉/게시글 카운터 관리
+// 쓰기 경로(팔로우/언팔로우, 게시글 작성/삭제)에서 증감하고, 조회는 캐시(로컬 + Redis)에서 처리한다
+@Service
+public class UserStatsService {
+
+    public static final String USER_STATS_CACHE = "userStats";
+
+    private final UserStatsDAO userStatsDAO;
+    private final CacheManager cacheManager;
+
+    public UserStatsService(UserStatsDAO userStatsDAO, CacheManager cacheManager) {
+        this.userStatsDAO = userStatsDAO;
+        this.cacheManager = cacheManager;
+    }
+
+    // followerId 가 followingId 를 팔로우 (delta = 1) 또는 언팔로우 (delta = -1)
+    @Transactional
+    public void onFollowChanged(Long followerId, Long followingId, long delta) {
+        userStatsDAO.addFollowingCount(followerId, delta);
+        userStatsDAO.addFollowerCount(followingId, delta);
+        evictAfterCommit(List.of(followerId, followingId));
+    }
+
+    // 게시글 작성 (delta > 0) 또는 삭제 (delta < 0)
+    @Transactional
+    public void onPostCountChanged(Long userId, long delta) {
+        userStatsDAO.addPostCount(userId, delta);
+        evictAfterCommit(List.of(userId));
+    }
+
+    @Cacheable(cacheNames = USER_STATS_CACHE, key = "#userId")
+    public UserStats getStats(Long userId) {
+        return userStatsDAO.findById(userId)
+                .orElseGet(() -> new UserStats(userId));
+    }
+
+    // 트랜잭션이 커밋된 후에 캐시를 제거
+    // -> 커밋 전에 제거하면 다른 요청이 변경 전 값을 다시 캐시할 수 있음
+    void evictAfterCommit(Collection<Long> userIds) {
+        Cache cache = cacheManager.getCache(USER_STATS_CACHE);
+        if (cache == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userIds.forEach(cache::evict);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userIds.forEach(cache::evict);
+            }
+        });
+    }
+}
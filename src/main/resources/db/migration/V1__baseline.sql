@@ -0,0 +1,54 @@
+-- 기존 spring.jpa.hibernate.ddl-auto=update 로 생성되던 스키마
+-- 이미 테이블이 있는 DB 는 spring.flyway.baseline-on-migrate 로 이 버전을 건너뛴다
+
+CREATE TABLE user (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255),
+    password   VARCHAR(255),
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_username UNIQUE (username),
+    CONSTRAINT uk_user_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE post (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT       NOT NULL,
+    caption    VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_post_user FOREIGN KEY (user_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE follower (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    follower_id  BIGINT,
+    following_id BIGINT,
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_follower_follower FOREIGN KEY (follower_id) REFERENCES user (id),
+    CONSTRAINT fk_follower_following FOREIGN KEY (following_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE likes (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT      NOT NULL,
+    post_id    BIGINT      NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_likes_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_likes_post FOREIGN KEY (post_id) REFERENCES post (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_stats (
+    user_id         BIGINT NOT NULL,
+    follower_count  BIGINT NOT NULL,
+    following_count BIGINT NOT NULL,
+    post_count      BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,53 @@
+-- DAO 의 주요 조회 쿼리가 사용하는 인덱스
+-- ddl-auto=update 로 운영되던 DB 에는 같은 이름의 인덱스가 이미 있을 수 있으므로
+-- information_schema 를 확인하여 없는 경우에만 생성한다
+
+-- 0. 카운터 테이블 (user_stats 가 추가되기 전에 ddl-auto 로 생성된 DB 에는 없음)
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id         BIGINT NOT NULL,
+    follower_count  BIGINT NOT NULL,
+    following_count BIGINT NOT NULL,
+    post_count      BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+-- 1. 작성자별 최신 게시글 (뉴스피드 조인, 타임라인 채우기, 프로필 게시글)
+--    InnoDB 보조 인덱스는 PK(id) 를 포함하므로 (user_id, updated_at, id) 정렬까지 인덱스로 처리
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'post' AND index_name = 'idx_post_user_updated') = 0,
+              'CREATE INDEX idx_post_user_updated ON post (user_id, updated_at)',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. 팔로워 목록 (following_id 로 조회, follower_id 키셋) -> 커버링 인덱스
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'follower' AND index_name = 'idx_follower_following_follower') = 0,
+              'CREATE INDEX idx_follower_following_follower ON follower (following_id, follower_id)',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 3. 팔로잉 목록 (follower_id 로 조회, following_id 키셋) + 같은 사용자를 중복 팔로우하지 못하도록 유니크
+--    기존 중복 팔로우는 가장 먼저 생성된 행만 남기고 삭제 (카운터는 UserStatsReconciler 가 보정)
+DELETE f1 FROM follower f1
+    JOIN follower f2 ON f1.follower_id = f2.follower_id AND f1.following_id = f2.following_id AND f1.id > f2.id;
+
+CREATE UNIQUE INDEX uk_follower_follower_following ON follower (follower_id, following_id);
+
+-- 유니크 인덱스와 컬럼이 같은 기존 일반 인덱스 제거 (유니크 인덱스 생성 후 제거해야 외래 키 인덱스가 유지됨)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'follower' AND index_name = 'idx_follower_follower_following') > 0,
+              'DROP INDEX idx_follower_follower_following ON follower',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 4. 사용자별 좋아요 목록 + 같은 게시글에 중복 좋아요 방지
+DELETE l1 FROM likes l1
+    JOIN likes l2 ON l1.user_id = l2.user_id AND l1.post_id = l2.post_id AND l1.id > l2.id;
+
+CREATE UNIQUE INDEX uk_likes_user_post ON likes (user_id, post_id);
@@ -0,0 +1,20 @@
+-- 뉴스피드 / 타임라인 / 프로필 게시글의 정렬 기준을 updated_at 에서 created_at 으로 변경
+-- (Fan-out 과 타임라인 캐시의 score 가 작성 시각이므로 DB 조회도 같은 기준을 사용 -> 게시글을 수정해도 순서가 바뀌지 않음)
+
+-- 1. 작성자별 최신 게시글 인덱스 (user_id, created_at) -> InnoDB 보조 인덱스는 PK(id) 를 포함하므로 (user_id, created_at, id) 정렬까지 처리
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'post' AND index_name = 'idx_post_user_created') = 0,
+              'CREATE INDEX idx_post_user_created ON post (user_id, created_at)',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. 더 이상 사용하지 않는 (user_id, updated_at) 인덱스 제거 (새 인덱스 생성 후 제거해야 user_id 외래 키 인덱스가 유지됨)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'post' AND index_name = 'idx_post_user_updated') > 0,
+              'DROP INDEX idx_post_user_updated ON post',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,39 @@
+package instagram_join.demo;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 로컬 DB / Redis 가 필요한 통합 테스트용
+// application.properties 의 로컬 DB / Redis 에 접속할 수 없으면 테스트를 건너뛴다
+public final class LocalServices {
+
+    private LocalServices() {
+    }
+
+    public static void assumeReachable() throws Exception {
+        Properties properties = new Properties();
+        try (InputStream in = LocalServices.class.getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+
+        boolean reachable;
+        try (Connection ignored = DriverManager.getConnection(
+                properties.getProperty("spring.datasource.url"),
+                properties.getProperty("spring.datasource.username"),
+                properties.getProperty("spring.datasource.password"));
+             Socket redis = new Socket()) {
+            redis.connect(new InetSocketAddress(properties.getProperty("spring.redis.host"),
+                    Integer.parseInt(properties.getProperty("spring.redis.port"))), 1000);
+            reachable = true;
+        } catch (Exception e) {
+            reachable = false;
+        }
+        assumeTrue(reachable, "Local database or Redis is not reachable");
+    }
+}
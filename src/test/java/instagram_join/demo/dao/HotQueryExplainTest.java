@@ -0,0 +1,160 @@
+package instagram_join.demo.dao;
+
+import instagram_join.demo.LocalServices;
+import instagram_join.demo.config.QueryProfiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// DAO 의 주요 조회 쿼리가 마이그레이션(V2, V3)의 인덱스를 사용하는지 EXPLAIN 으로 확인
+// - 직접 작성한 SQL 이 아니라 DAO 메서드를 실행했을 때 Hibernate 가 생성한 SQL 을 QueryProfiler 로 수집하여 EXPLAIN
+// - 실제 테이블(파생 테이블 <derivedN> 제외)에 전체 스캔(type=ALL)이 없고, 기대한 인덱스(key)를 사용하는지 확인
+// 로컬 DB / Redis 에 접속할 수 없으면 테스트를 건너뛴다 (LocalServices)
+@SpringBootTest
+class HotQueryExplainTest {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private PostDAO postDAO;
+
+    @Autowired
+    private FollowerDAO followerDAO;
+
+    @Autowired
+    private LikesDAO likesDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    static void requireLocalServices() throws Exception {
+        LocalServices.assumeReachable();
+    }
+
+    @Test
+    void latestFeedPostsUseFollowerAndPostIndexes() throws SQLException {
+        String sql = capture(() -> postDAO.findLatestFeedPostIds(USER_ID, 21));
+        assertUsesIndexes(sql, List.of(USER_ID, USER_ID, 21),
+                "uk_follower_follower_following", "idx_post_user_created");
+    }
+
+    @Test
+    void olderFeedPostsUseFollowerAndPostIndexes() throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        String sql = capture(() -> postDAO.findFeedPostIdsBefore(USER_ID, now, Long.MAX_VALUE, 21));
+        assertUsesIndexes(sql, List.of(USER_ID, USER_ID, now, now, Long.MAX_VALUE, 21),
+                "uk_follower_follower_following", "idx_post_user_created");
+    }
+
+    @Test
+    void recentPostsByAuthorUsePostIndex() throws SQLException {
+        String sql = capture(() -> postDAO.findRecentByUserId(USER_ID, PageRequest.of(0, 20)));
+        assertUsesIndexes(sql, List.of(USER_ID, 20), "idx_post_user_created");
+    }
+
+    @Test
+    void timelineWarmUpUsesPostIndex() throws SQLException {
+        String sql = capture(() -> postDAO.findRecentPostsByUserIds(List.of(1L, 2L, 3L), 200));
+        assertUsesIndexes(sql, List.of(1L, 2L, 3L, 200), "idx_post_user_created");
+    }
+
+    @Test
+    void followersForFanOutUseFollowingIndex() throws SQLException {
+        String sql = capture(() -> followerDAO.findFollowers(USER_ID));
+        assertUsesIndexes(sql, List.of(USER_ID), "idx_follower_following_follower");
+    }
+
+    @Test
+    void followerListUsesCoveringIndex() throws SQLException {
+        String sql = capture(() -> followerDAO.findFollowerIdsAfter(USER_ID, 0L, PageRequest.of(0, 50)));
+        assertUsesIndexes(sql, List.of(USER_ID, 0L, 50), "idx_follower_following_follower");
+    }
+
+    @Test
+    void followingListUsesCoveringIndex() throws SQLException {
+        String sql = capture(() -> followerDAO.findFollowingIdsAfter(USER_ID, 0L, PageRequest.of(0, 50)));
+        assertUsesIndexes(sql, List.of(USER_ID, 0L, 50), "uk_follower_follower_following");
+    }
+
+    @Test
+    void likesByUserUseLikesIndex() throws SQLException {
+        String sql = capture(() -> likesDAO.findLikesByUserId(USER_ID));
+        assertUsesIndexes(sql, List.of(USER_ID), "uk_likes_user_post");
+    }
+
+    @Test
+    void userByEmailUsesUniqueIndex() throws SQLException {
+        // 쿼리 캐시에 없는 이메일로 조회해야 SQL 이 실행됨
+        String email = UUID.randomUUID() + "@example.com";
+        String sql = capture(() -> userDAO.findByEmail(email));
+        assertUsesIndexes(sql, List.of(email), "uk_user_email");
+    }
+
+    // DAO 호출 중 실행된 SQL (문장 하나)
+    private static String capture(Runnable daoCall) {
+        assertTrue(QueryProfiler.start(), "A query profile is already active on this thread");
+        QueryProfiler.Profile profile;
+        try {
+            daoCall.run();
+        } finally {
+            profile = QueryProfiler.stop();
+        }
+        assertEquals(1, profile.getSql().size(), "Expected one statement but was " + profile.getSql());
+        return profile.getSql().get(0);
+    }
+
+    // parameters: SQL 의 ? 순서대로 바인딩할 값
+    private void assertUsesIndexes(String sql, List<Object> parameters, String... expectedKeys) throws SQLException {
+        assertEquals(parameters.size(), sql.chars().filter(c -> c == '?').count(),
+                "Parameter count does not match the generated SQL: " + sql);
+
+        List<String> fullScans = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    if (table == null || table.startsWith("<")) {
+                        continue;
+                    }
+                    if ("ALL".equals(rs.getString("type"))) {
+                        fullScans.add(table);
+                    }
+                    if (rs.getString("key") != null) {
+                        keys.add(rs.getString("key"));
+                    }
+                }
+            }
+        }
+
+        assertTrue(fullScans.isEmpty(), "Full table scan on " + fullScans + " for: " + sql);
+        for (String expectedKey : expectedKeys) {
+            assertTrue(keys.contains(expectedKey), "Expected index " + expectedKey + " but used " + keys + " for: " + sql);
+        }
+    }
+}
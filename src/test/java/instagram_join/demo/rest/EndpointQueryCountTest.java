@@ -0,0 +1,216 @@
+package instagram_join.demo.rest;
+
+import instagram_join.demo.LocalServices;
+import instagram_join.demo.dao.FollowerDAO;
+import instagram_join.demo.dao.LikesDAO;
+import instagram_join.demo.dao.PostDAO;
+import instagram_join.demo.dao.UserDAO;
+import instagram_join.demo.entity.Follower;
+import instagram_join.demo.entity.Likes;
+import instagram_join.demo.entity.Post;
+import instagram_join.demo.entity.User;
+import instagram_join.demo.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static instagram_join.demo.rest.QueryCountAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 컨트롤러 엔드포인트별 최대 SQL 문장 수 (N+1 회귀 방지)
+// - 페이지 크기 / 게시글 수와 관계없이 문장 수가 일정해야 하는 조회 / 삭제 엔드포인트 검사
+// - 매 테스트마다 사용자 2명(팔로워 -> 작성자), 작성자의 게시글, 좋아요를 만들고 200 + 만든 데이터가 포함된 응답인지 확인
+// 로컬 DB / Redis 에 접속할 수 없으면 테스트를 건너뛴다 (LocalServices)
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+
+    // 같은 문장이 이 횟수를 넘게 반복되면 N+1
+    private static final int MAX_REPEATS = 2;
+    private static final int POST_COUNT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private PostDAO postDAO;
+
+    @Autowired
+    private FollowerDAO followerDAO;
+
+    @Autowired
+    private LikesDAO likesDAO;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private User reader;
+    private User author;
+    private Follower follow;
+    private final List<Post> posts = new ArrayList<>();
+
+    @BeforeAll
+    static void requireLocalServices() throws Exception {
+        LocalServices.assumeReachable();
+    }
+
+    @BeforeEach
+    void seed() {
+        reader = userDAO.save(newUser("reader"));
+        author = userDAO.save(newUser("author"));
+        follow = followerDAO.save(new Follower(reader, author));
+        for (int i = 0; i < POST_COUNT; i++) {
+            posts.add(postDAO.save(new Post(author, "query count " + i, null, null)));
+        }
+        likesDAO.save(new Likes(reader, posts.get(0), null, null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (follow != null) {
+            followerDAO.delete(follow);
+        }
+        // 작성자를 먼저 삭제 -> 게시글과 게시글의 좋아요가 함께 삭제됨
+        if (author != null) {
+            userService.deleteById(author.getId());
+        }
+        if (reader != null) {
+            userService.deleteById(reader.getId());
+            clearFeedCaches(reader.getId());
+        }
+        posts.clear();
+    }
+
+    @Test
+    void postPage() {
+        assertMaxQueries(2, MAX_REPEATS, () -> expectOk("/posts?afterId=0&size=50"));
+    }
+
+    @Test
+    void userPage() {
+        assertMaxQueries(2, MAX_REPEATS, () -> expectOk("/users?afterId=0&size=50"));
+    }
+
+    @Test
+    void followerPage() {
+        assertMaxQueries(2, MAX_REPEATS, () -> expectOk("/followers?afterId=0&size=50"));
+    }
+
+    @Test
+    void followersOfUser() {
+        assertMaxQueries(3, MAX_REPEATS, () ->
+                expectOk("/followers/user/" + author.getId() + "/followers", reader.getId()));
+    }
+
+    @Test
+    void followingOfUser() {
+        assertMaxQueries(3, MAX_REPEATS, () ->
+                expectOk("/followers/user/" + reader.getId() + "/following", author.getId()));
+    }
+
+    @Test
+    void likesOfUser() {
+        assertMaxQueries(2, MAX_REPEATS, () -> expectOk("/likes/" + reader.getId(), posts.get(0).getId()));
+    }
+
+    @Test
+    void userPosts() {
+        assertMaxQueries(3, MAX_REPEATS, () ->
+                expectOk("/users/" + author.getId() + "/posts?page=0&size=20", lastPost().getId()));
+    }
+
+    @Test
+    void userStats() {
+        assertMaxQueries(2, MAX_REPEATS, () -> expectOk("/users/" + author.getId() + "/stats"));
+    }
+
+    // 캐시 미스 -> 피드 재생성 경로 포함 (팔로잉 조회, 타임라인 워밍업, 게시물 조회)
+    @Test
+    void newsFeed() {
+        clearFeedCaches(reader.getId());
+        stringRedisTemplate.delete("timeline:" + author.getId());
+
+        assertMaxQueries(8, MAX_REPEATS, () ->
+                expectOk("/newsFeed/" + reader.getId() + "?page=0&size=20", lastPost().getId()));
+    }
+
+    // 게시글 하나 삭제 (작성자 조회, 게시글 수 감소, 팔로워 조회, 좋아요 / 게시글 삭제)
+    @Test
+    void deletePost() {
+        Post likedPost = posts.get(0);
+
+        assertMaxQueries(7, MAX_REPEATS, () ->
+                mockMvc.perform(delete("/posts/" + likedPost.getId())).andExpect(status().isOk()));
+
+        assertFalse(postDAO.existsById(likedPost.getId()));
+        posts.remove(likedPost);
+    }
+
+    // 사용자 삭제 -> 게시글 수(POST_COUNT)와 관계없이 게시글 / 좋아요를 각각 한 문장으로 삭제
+    @Test
+    void deleteUser() {
+        // 팔로우 관계는 사용자 삭제 대상이 아니므로 먼저 정리
+        followerDAO.delete(follow);
+        follow = null;
+
+        assertMaxQueries(8, MAX_REPEATS, () ->
+                mockMvc.perform(delete("/users/" + author.getId())).andExpect(status().isOk()));
+
+        assertFalse(userDAO.existsById(author.getId()));
+        assertTrue(postDAO.findIdsByUserId(author.getId()).isEmpty());
+        assertTrue(likesDAO.findLikesByUserId(reader.getId()).isEmpty());
+        author = null;
+    }
+
+    // 200 + 비어 있지 않은 응답, expectedIds 가 있으면 응답에 포함되어 있는지 확인
+    private ResultActions expectOk(String url, Long... expectedIds) throws Exception {
+        ResultActions result = mockMvc.perform(get(url)).andExpect(status().isOk());
+        String body = result.andReturn().getResponse().getContentAsString();
+        assertFalse(body.isBlank(), "Empty response from " + url);
+        for (Long expectedId : expectedIds) {
+            assertTrue(body.matches("(?s).*[:\\[,]" + expectedId + "[,}\\]].*"),
+                    "Expected id " + expectedId + " in " + url + ": " + body);
+        }
+        return result;
+    }
+
+    // 사용자의 뉴스피드 ZSET, 피드 버전(ETag), 첫 페이지 응답 캐시 삭제
+    private void clearFeedCaches(Long userId) {
+        stringRedisTemplate.delete(List.of("newsfeed:" + userId, "feedversion:" + userId));
+        Set<String> pageKeys = stringRedisTemplate.keys("newsfeed-page:" + userId + ":*");
+        if (pageKeys != null && !pageKeys.isEmpty()) {
+            stringRedisTemplate.delete(pageKeys);
+        }
+    }
+
+    private Post lastPost() {
+        return posts.get(posts.size() - 1);
+    }
+
+    private static User newUser(String prefix) {
+        String name = prefix + "-" + UUID.randomUUID();
+        return new User(name, name + "@example.com", "password", null, null);
+    }
+}
@@ -0,0 +1,39 @@
+package instagram_join.demo.rest;
+
+import instagram_join.demo.config.QueryProfiler;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// 테스트 구간(예: MockMvc 요청)에서 실행된 SQL 문장 수 검증
+// - MockMvc 는 같은 스레드에서 요청을 처리하므로 QueryProfilingFilter 가 이 프로파일을 그대로 사용한다
+final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    static QueryProfiler.Profile profile(Executable action) {
+        if (!QueryProfiler.start()) {
+            fail("A query profile is already active on this thread");
+        }
+        try {
+            action.execute();
+        } catch (Throwable e) {
+            QueryProfiler.stop();
+            throw new AssertionError("Profiled action failed", e);
+        }
+        return QueryProfiler.stop();
+    }
+
+    // 문장 수가 maxStatements 이하이고 같은 문장이 maxRepeats 번을 넘게 반복되지 않는지 확인
+    static QueryProfiler.Profile assertMaxQueries(int maxStatements, int maxRepeats, Executable action) {
+        QueryProfiler.Profile profile = profile(action);
+        assertTrue(profile.getStatements() <= maxStatements,
+                "Expected at most " + maxStatements + " statements but was " + profile);
+        var repeated = profile.getMostRepeated();
+        assertTrue(repeated == null || repeated.getValue() <= maxRepeats,
+                "Statement repeated more than " + maxRepeats + " times (N+1?): " + profile);
+        return profile;
+    }
+}
@@ -0,0 +1,127 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.config.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// 로컬 outbox 에 기록한 Fan-out 작업이 Redis 복구 후 스트림에 다시 등록되는지 확인
+// - Redis 는 mock, outbox 파일은 임시 디렉터리 사용
+class FanOutOutboxTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, Object, Object> streamOperations = mock(StreamOperations.class);
+    private final RedisCircuitBreaker redisCircuitBreaker = mock(RedisCircuitBreaker.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Path outboxFile;
+    private FanOutOutbox outbox;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        doReturn(streamOperations).when(stringRedisTemplate).opsForStream();
+        outboxFile = tempDir.resolve("outbox/fanout-outbox.log");
+        outbox = newOutbox();
+    }
+
+    @Test
+    void replayAddsTasksToStreamInOrder() throws Exception {
+        when(streamOperations.add(any(MapRecord.class))).thenReturn(RecordId.autoGenerate());
+        outbox.append("10", "1", "1700000000");
+        outbox.append("11", "1", "1700000001");
+        assertEquals(2, pending());
+
+        outbox.replay();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<MapRecord<String, String, String>> records = ArgumentCaptor.forClass(MapRecord.class);
+        verify(streamOperations, times(2)).add(records.capture());
+        assertEquals(NewsFeedService.FANOUT_STREAM_KEY, records.getAllValues().get(0).getStream());
+        assertEquals(Map.of("postId", "10", "userId", "1", "timestamp", "1700000000"),
+                records.getAllValues().get(0).getValue());
+        assertEquals(Map.of("postId", "11", "userId", "1", "timestamp", "1700000001"),
+                records.getAllValues().get(1).getValue());
+        verify(redisCircuitBreaker).recordSuccess();
+        assertEquals(0, pending());
+        assertFalse(Files.exists(outboxFile));
+    }
+
+    // 재등록 도중 Redis 가 다시 끊기면 등록하지 못한 작업만 outbox 에 남음
+    @Test
+    void replayKeepsRemainingTasksWhenRedisFails() throws Exception {
+        when(streamOperations.add(any(MapRecord.class)))
+                .thenReturn(RecordId.autoGenerate())
+                .thenThrow(new RedisConnectionFailureException("down"));
+        outbox.append("10", "1", "1700000000");
+        outbox.append("11", "1", "1700000001");
+
+        outbox.replay();
+
+        verify(redisCircuitBreaker).recordFailure(any(RedisConnectionFailureException.class));
+        assertEquals(List.of("11:1:1700000001"), Files.readAllLines(outboxFile, StandardCharsets.UTF_8));
+        assertEquals(1, pending());
+    }
+
+    @Test
+    void replayWaitsWhileCircuitIsOpen() throws Exception {
+        when(redisCircuitBreaker.isOpen()).thenReturn(true);
+        outbox.append("10", "1", "1700000000");
+
+        outbox.replay();
+
+        verifyNoInteractions(streamOperations);
+        assertEquals(1, pending());
+    }
+
+    // 재시작 시 남아 있는 작업 수를 복원
+    @Test
+    void initializeCountsTasksLeftFromPreviousRun() throws Exception {
+        outbox.append("10", "1", "1700000000");
+        outbox.append("11", "1", "1700000001");
+
+        SimpleMeterRegistry restartedRegistry = new SimpleMeterRegistry();
+        FanOutOutbox restarted = new FanOutOutbox(stringRedisTemplate, redisCircuitBreaker, restartedRegistry,
+                outboxFile.toString());
+        restarted.initialize();
+
+        assertEquals(2, restartedRegistry.get("fanout.outbox.pending").gauge().value());
+    }
+
+    private FanOutOutbox newOutbox() throws Exception {
+        FanOutOutbox fanOutOutbox = new FanOutOutbox(stringRedisTemplate, redisCircuitBreaker, meterRegistry,
+                outboxFile.toString());
+        fanOutOutbox.initialize();
+        return fanOutOutbox;
+    }
+
+    private double pending() {
+        return meterRegistry.get("fanout.outbox.pending").gauge().value();
+    }
+}
@@ -0,0 +1,89 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.dto.PostDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Redis 장애 중 뉴스피드 조회 대체 경로
+// - 로컬 캐시 적중 시 DB 를 조회하지 않음
+// - DB 동시 조회 수(bulkhead)를 넘는 요청은 대기 시간 후 503
+class LocalFeedFallbackTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalFeedFallback fallback = new LocalFeedFallback(meterRegistry, 100, Duration.ofMinutes(1),
+            1, Duration.ofMillis(50));
+
+    @Test
+    void remembersPagesFromNormalPath() {
+        Page<PostDTO> page = page();
+        fallback.remember(1L, FIRST_PAGE, page);
+
+        assertSame(page, fallback.get(1L, FIRST_PAGE, () -> fail("DB should not be queried")));
+        assertEquals(1, count("local_cache"));
+    }
+
+    @Test
+    void rejectsWhenDbPermitsAreInUse() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Page<PostDTO> page = page();
+
+        // 허용 수(1)를 차지한 채로 대기하는 조회
+        CompletableFuture<Page<PostDTO>> slowLoad = CompletableFuture.supplyAsync(() ->
+                fallback.get(1L, FIRST_PAGE, () -> {
+                    loading.countDown();
+                    await(release);
+                    return page;
+                }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> fallback.get(2L, FIRST_PAGE, () -> fail("DB should not be queried")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals(1, count("rejected"));
+
+        release.countDown();
+        assertSame(page, slowLoad.get(5, TimeUnit.SECONDS));
+
+        // 허용 수가 반환되면 다시 조회 가능, 조회한 페이지는 로컬 캐시에 보관
+        fallback.get(2L, FIRST_PAGE, LocalFeedFallbackTest::page);
+        assertSame(page, fallback.get(1L, FIRST_PAGE, () -> fail("DB should not be queried")));
+        assertEquals(2, count("db"));
+    }
+
+    private double count(String source) {
+        return meterRegistry.get("newsfeed.degraded").tag("source", source).counter().count();
+    }
+
+    private static Page<PostDTO> page() {
+        return new PageImpl<>(List.of(), FIRST_PAGE, 0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package instagram_join.demo.service;
+
+import instagram_join.demo.LocalServices;
+import instagram_join.demo.dao.PostDAO;
+import instagram_join.demo.dao.UserDAO;
+import instagram_join.demo.dto.PostDTO;
+import instagram_join.demo.entity.Post;
+import instagram_join.demo.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 게시글을 수정해도 뉴스피드 캐시가 오래된 것으로 판단되어 다시 생성되지 않는지 확인
+// (피드 캐시 score 와 DB 조회 모두 작성 시각 기준)
+// 로컬 DB / Redis 에 접속할 수 없으면 테스트를 건너뛴다 (LocalServices)
+@SpringBootTest
+class NewsFeedRefreshTest {
+
+    @Autowired
+    private NewsFeedService newsFeedService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private PostDAO postDAO;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private Post olderPost;
+    private Post newerPost;
+
+    @BeforeAll
+    static void requireLocalServices() throws Exception {
+        LocalServices.assumeReachable();
+    }
+
+    @BeforeEach
+    void createPosts() {
+        String name = "refresh-" + UUID.randomUUID();
+        user = userDAO.save(new User(name, name + "@example.com", "password", null, null));
+        olderPost = postDAO.save(new Post(user, "older", null, null));
+        newerPost = postDAO.save(new Post(user, "newer", null, null));
+    }
+
+    @AfterEach
+    void deletePosts() {
+        if (user != null) {
+            userService.deleteById(user.getId());
+        }
+    }
+
+    @Test
+    void editingAnOlderPostDoesNotRebuildTheFeed() {
+        PageRequest firstPage = PageRequest.of(0, 20);
+
+        // 첫 조회 -> 캐시가 없으므로 피드 생성
+        Page<PostDTO> before = newsFeedService.getNewsFeed(user.getId(), firstPage);
+        assertEquals(List.of(newerPost.getId(), olderPost.getId()), ids(before));
+
+        // 오래된 게시글 수정 -> updated_at 만 바뀜
+        Post edited = postService.findById(olderPost.getId()).orElseThrow();
+        edited.setCaption("older, edited");
+        postService.save(edited);
+
+        double rebuilds = rebuildCount();
+        double hits = counter("hit").count();
+
+        Page<PostDTO> after = newsFeedService.getNewsFeed(user.getId(), firstPage);
+
+        assertEquals(rebuilds, rebuildCount(), "Editing a post must not rebuild the feed");
+        assertEquals(hits + 1, counter("hit").count());
+        // 순서는 작성 시각 기준 그대로, 내용은 수정된 값
+        assertEquals(List.of(newerPost.getId(), olderPost.getId()), ids(after));
+        assertEquals("older, edited", after.getContent().get(1).getCaption());
+    }
+
+    private double rebuildCount() {
+        return meterRegistry.find("newsfeed.cache").tag("result", "rebuild").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private Counter counter(String result) {
+        return meterRegistry.counter("newsfeed.cache", "result", result, "reason", "none");
+    }
+
+    private static List<Long> ids(Page<PostDTO> page) {
+        return page.getContent().stream().map(PostDTO::getId).toList();
+    }
+}
@@ -0,0 +1,232 @@
+package instagram_join.demo.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import instagram_join.demo.config.CacheConfig;
+import instagram_join.demo.config.RedisCircuitBreaker;
+import instagram_join.demo.config.RedisConfig;
+import instagram_join.demo.config.TwoLevelCacheManager;
+import instagram_join.demo.dao.FollowerDAO;
+import instagram_join.demo.dao.LikesDAO;
+import instagram_join.demo.dao.PostDAO;
+import instagram_join.demo.dao.UserStatsDAO;
+import instagram_join.demo.dto.PostDTO;
+import instagram_join.demo.entity.Post;
+import instagram_join.demo.entity.User;
+import instagram_join.demo.entity.UserStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Redis 에 접속할 수 없을 때 게시글 작성 / 삭제 / 뉴스피드 조회가 실패하지 않는지 확인
+// - 닫힌 포트로 접속하는 실제 Lettuce 연결 사용 (DB 는 mock)
+// - @Transactional 대신 트랜잭션 동기화를 직접 열고, 커밋 후 콜백(캐시 제거)까지 실행
+class RedisOutageTest {
+
+    private static final Long AUTHOR_ID = 1L;
+    private static final Long POST_ID = 10L;
+    private static final Long READER_ID = 2L;
+    private static final int FEED_MAX_SIZE = 500;
+
+    @TempDir
+    private Path tempDir;
+
+    private LettuceConnectionFactory connectionFactory;
+    private SimpleMeterRegistry meterRegistry;
+    private Cache userStatsCache;
+
+    private final PostDAO postDAO = mock(PostDAO.class);
+    private final LikesDAO likesDAO = mock(LikesDAO.class);
+    private final FollowerDAO followerDAO = mock(FollowerDAO.class);
+    private final UserStatsDAO userStatsDAO = mock(UserStatsDAO.class);
+    private final NewsFeedService newsFeedService = new NewsFeedService();
+
+    private TimelineService timelineService;
+    private UserStatsService userStatsService;
+    private RedisCircuitBreaker redisCircuitBreaker;
+    private Path outboxFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", closedPort));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisTemplate<String, Object> redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        meterRegistry = new SimpleMeterRegistry();
+        redisCircuitBreaker = new RedisCircuitBreaker(stringRedisTemplate, meterRegistry,
+                50, 10, 50, Duration.ofSeconds(10));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(new CacheConfig().cacheConfiguration())
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate,
+                Caffeine.newBuilder().maximumSize(100), redisCircuitBreaker);
+        userStatsCache = cacheManager.getCache(UserStatsService.USER_STATS_CACHE);
+
+        outboxFile = tempDir.resolve("fanout-outbox.log");
+        FanOutOutbox fanOutOutbox = new FanOutOutbox(stringRedisTemplate, redisCircuitBreaker, meterRegistry,
+                outboxFile.toString());
+        LocalFeedFallback localFeedFallback = new LocalFeedFallback(meterRegistry, 100, Duration.ofMinutes(1),
+                1, Duration.ofMillis(50));
+
+        ReflectionTestUtils.setField(newsFeedService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(newsFeedService, "stringRedisTemplate", stringRedisTemplate);
+        ReflectionTestUtils.setField(newsFeedService, "followerDAO", followerDAO);
+        ReflectionTestUtils.setField(newsFeedService, "postDAO", postDAO);
+        ReflectionTestUtils.setField(newsFeedService, "redisCircuitBreaker", redisCircuitBreaker);
+        ReflectionTestUtils.setField(newsFeedService, "localFeedFallback", localFeedFallback);
+        ReflectionTestUtils.setField(newsFeedService, "fanOutOutbox", fanOutOutbox);
+        ReflectionTestUtils.setField(newsFeedService, "feedTracer", new FeedTracer(0, 0));
+        ReflectionTestUtils.setField(newsFeedService, "feedMaxSize", FEED_MAX_SIZE);
+        timelineService = new TimelineService(redisTemplate, postDAO);
+        userStatsService = new UserStatsService(userStatsDAO, cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void createPostSucceedsAndEvictsLocalStats() {
+        // 팬아웃 등록은 자체적으로 로컬 outbox 로 대체되므로 여기서는 제외
+        PostServiceImpl postService = postService(mock(NewsFeedService.class));
+        Post post = new Post(POST_ID);
+        post.setUser(new User(AUTHOR_ID));
+        when(postDAO.save(any(Post.class))).thenReturn(post);
+        userStatsCache.put(AUTHOR_ID, new UserStats(AUTHOR_ID));
+
+        inTransaction(() -> postService.save(new Post(new User(AUTHOR_ID), "caption", null, null)));
+
+        verify(userStatsDAO).addPostCount(AUTHOR_ID, 1);
+        // Redis 에서 제거하지 못해도 로컬 캐시의 이전 값은 제거됨
+        assertNull(userStatsCache.get(AUTHOR_ID));
+        assertRedisWasCalled();
+    }
+
+    // 커밋 후 Fan-out 스트림에 등록하지 못한 작업은 로컬 outbox 에 기록됨
+    @Test
+    void createPostWritesFanOutTaskToOutbox() throws Exception {
+        PostServiceImpl postService = postService(newsFeedService);
+        Post post = new Post(POST_ID);
+        post.setUser(new User(AUTHOR_ID));
+        when(postDAO.save(any(Post.class))).thenReturn(post);
+
+        inTransaction(() -> postService.save(new Post(new User(AUTHOR_ID), "caption", null, null)));
+
+        List<String> lines = Files.readAllLines(outboxFile, StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith(POST_ID + ":" + AUTHOR_ID + ":"), lines.get(0));
+        assertEquals(1, meterRegistry.get("fanout.outbox.pending").gauge().value());
+    }
+
+    // 뉴스피드는 DB 에서 조회하고, 같은 페이지를 다시 조회하면 로컬 캐시에서 반환
+    @Test
+    void newsFeedFallsBackToDatabase() {
+        Post newer = new Post(12L);
+        newer.setUser(new User(AUTHOR_ID));
+        Post older = new Post(11L);
+        older.setUser(new User(AUTHOR_ID));
+        when(postDAO.findLatestFeedPostIds(READER_ID, 3)).thenReturn(List.of(12L, 11L, 10L));
+        when(postDAO.findByIdIn(List.of(12L, 11L))).thenReturn(List.of(newer, older));
+
+        Page<PostDTO> page = newsFeedService.getNewsFeed(READER_ID, PageRequest.of(0, 2));
+        Page<PostDTO> again = newsFeedService.getNewsFeed(READER_ID, PageRequest.of(0, 2));
+
+        assertEquals(List.of(12L, 11L), page.getContent().stream().map(PostDTO::getId).toList());
+        assertTrue(page.hasNext());
+        assertEquals(page.getContent(), again.getContent());
+        verify(postDAO, times(1)).findLatestFeedPostIds(READER_ID, 3);
+        assertEquals(1, meterRegistry.get("newsfeed.degraded").tag("source", "local_cache").counter().count());
+        assertRedisWasCalled();
+    }
+
+    // 뉴스피드 캐시 범위(newsFeed.max-size)를 넘는 페이지는 DB 조회 없이 빈 페이지
+    @Test
+    void newsFeedBeyondMaxSizeIsEmpty() {
+        Page<PostDTO> page = newsFeedService.getDegradedNewsFeed(READER_ID, PageRequest.of(FEED_MAX_SIZE / 20, 20));
+
+        assertTrue(page.getContent().isEmpty());
+        assertFalse(page.hasNext());
+        verify(postDAO, never()).findLatestFeedPostIds(anyLong(), anyInt());
+    }
+
+    @Test
+    void deletePostSucceeds() {
+        when(postDAO.findAuthorIdById(POST_ID)).thenReturn(Optional.of(AUTHOR_ID));
+        when(followerDAO.findFollowerIds(AUTHOR_ID)).thenReturn(List.of(2L, 3L));
+        PostServiceImpl postService = postService(newsFeedService);
+
+        inTransaction(() -> postService.deleteById(POST_ID));
+
+        verify(userStatsDAO).addPostCount(AUTHOR_ID, -1);
+        verify(likesDAO).deleteLikesByPostId(POST_ID);
+        verify(postDAO).deleteById(POST_ID);
+        assertRedisWasCalled();
+    }
+
+    private PostServiceImpl postService(NewsFeedService newsFeedService) {
+        return new PostServiceImpl(postDAO, likesDAO, newsFeedService, timelineService, userStatsService,
+                null, redisCircuitBreaker);
+    }
+
+    // 트랜잭션 안에서 실행한 뒤 커밋 후 콜백까지 실행 (어느 단계에서도 예외가 없어야 함)
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertDoesNotThrow(work::run);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                assertDoesNotThrow(synchronization::afterCommit);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Redis 호출이 실제로 시도되어 실패로 집계되었는지 확인 (호출을 건너뛴 것이 아님)
+    private void assertRedisWasCalled() {
+        double failures = meterRegistry.get("redis.circuit.calls").tag("outcome", "failure").counter().count();
+        assertTrue(failures > 0, "Expected failed Redis calls but was " + failures);
+    }
+}